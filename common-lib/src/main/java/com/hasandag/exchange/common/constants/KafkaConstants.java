@@ -6,7 +6,16 @@ public class KafkaConstants {
     
     public static final String CONVERSION_COMMAND_TOPIC = FX_TOPIC_PREFIX + "command.conversion";
     public static final String CONVERSION_EVENT_TOPIC = FX_TOPIC_PREFIX + "event.conversion";
+    public static final String BATCH_CHUNK_REQUEST_TOPIC = FX_TOPIC_PREFIX + "batch.chunk.request";
+    public static final String BATCH_CHUNK_REPLY_TOPIC = FX_TOPIC_PREFIX + "batch.chunk.reply";
+
+    public static final String DLT_SUFFIX = "-dlt";
+    public static final String CONVERSION_COMMAND_DLT_TOPIC = CONVERSION_COMMAND_TOPIC + DLT_SUFFIX;
+    public static final String CONVERSION_EVENT_DLT_TOPIC = CONVERSION_EVENT_TOPIC + DLT_SUFFIX;
 
     public static final String COMMAND_HANDLER_GROUP = "command-handler-group";
     public static final String EVENT_HANDLER_GROUP = "event-handler-group";
+    public static final String BATCH_WORKER_GROUP = "batch-worker-group";
+    public static final String BATCH_MANAGER_GROUP_PREFIX = "batch-manager-";
+    public static final String DLT_REPLAY_GROUP = "dlt-replay-group";
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.hasandag.exchange.common.serialization;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionCommand;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class ConversionBinarySerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof ConversionEvent event) {
+            return ConversionWireFormat.encode(event);
+        }
+        if (data instanceof ConversionCommand command) {
+            return ConversionWireFormat.encode(command);
+        }
+        throw new SerializationException("Binary conversion format does not support " + data.getClass().getName()
+                + " on topic " + topic);
+    }
+}
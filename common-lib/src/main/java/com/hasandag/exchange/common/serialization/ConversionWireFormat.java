@@ -0,0 +1,337 @@
+package com.hasandag.exchange.common.serialization;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionCommand;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+public final class ConversionWireFormat {
+
+    public static final byte MAGIC = (byte) 0xCF;
+    public static final int VERSION = 1;
+
+    static final int TYPE_EVENT = 1;
+    static final int TYPE_COMMAND = 2;
+
+    private static final ConversionEvent.EventType[] EVENT_TYPES = ConversionEvent.EventType.values();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+        }
+    }
+
+    private ConversionWireFormat() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(ConversionEvent event) {
+        Fields fields = new Fields(13);
+        fields.id(event.getEventId());
+        fields.id(event.getCommandId());
+        fields.id(event.getTransactionId());
+        fields.currency(event.getSourceCurrency());
+        fields.currency(event.getTargetCurrency());
+        fields.decimal(event.getSourceAmount());
+        fields.decimal(event.getTargetAmount());
+        fields.decimal(event.getExchangeRate());
+        fields.timestamp(event.getTimestamp());
+        fields.eventType(event.getEventType());
+        fields.string(event.getUserId());
+        fields.id(event.getCorrelationId());
+        fields.string(event.getErrorMessage());
+        return fields.write(TYPE_EVENT);
+    }
+
+    public static byte[] encode(ConversionCommand command) {
+        Fields fields = new Fields(6);
+        fields.id(command.getCommandId());
+        fields.currency(command.getSourceCurrency());
+        fields.currency(command.getTargetCurrency());
+        fields.decimal(command.getSourceAmount());
+        fields.timestamp(command.getTimestamp());
+        fields.id(command.getCorrelationId());
+        return fields.write(TYPE_COMMAND);
+    }
+
+    public static Object decode(byte[] data) {
+        WireReader reader = new WireReader(data);
+        if ((byte) reader.readByte() != MAGIC) {
+            throw new SerializationException("Payload is not in the binary conversion format");
+        }
+        int version = reader.readByte();
+        if (version != VERSION) {
+            throw new SerializationException("Unsupported conversion wire format version " + version);
+        }
+        int type = reader.readByte();
+        FieldReader fields = new FieldReader(reader, reader.readVarLong(), reader.readVarLong());
+        return switch (type) {
+            case TYPE_EVENT -> {
+                ConversionEvent event = new ConversionEvent();
+                event.setEventId(fields.id());
+                event.setCommandId(fields.id());
+                event.setTransactionId(fields.id());
+                event.setSourceCurrency(fields.currency());
+                event.setTargetCurrency(fields.currency());
+                event.setSourceAmount(fields.decimal());
+                event.setTargetAmount(fields.decimal());
+                event.setExchangeRate(fields.decimal());
+                event.setTimestamp(fields.timestamp());
+                event.setEventType(fields.eventType());
+                event.setUserId(fields.string());
+                event.setCorrelationId(fields.id());
+                event.setErrorMessage(fields.string());
+                yield event;
+            }
+            case TYPE_COMMAND -> {
+                ConversionCommand command = new ConversionCommand();
+                command.setCommandId(fields.id());
+                command.setSourceCurrency(fields.currency());
+                command.setTargetCurrency(fields.currency());
+                command.setSourceAmount(fields.decimal());
+                command.setTimestamp(fields.timestamp());
+                command.setCorrelationId(fields.id());
+                yield command;
+            }
+            default -> throw new SerializationException("Unknown conversion payload type " + type);
+        };
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static boolean writeCanonicalUuid(String value, WireWriter out) {
+        if (value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-'
+                || value.charAt(18) != '-' || value.charAt(23) != '-') {
+            return false;
+        }
+        long most = 0;
+        long least = 0;
+        int invalid = 0;
+        for (int i = 0; i < 18; i++) {
+            if (i != 8 && i != 13) {
+                int digit = hexValue(value.charAt(i));
+                invalid |= digit;
+                most = (most << 4) | (digit & 0xF);
+            }
+        }
+        for (int i = 19; i < 36; i++) {
+            if (i != 23) {
+                int digit = hexValue(value.charAt(i));
+                invalid |= digit;
+                least = (least << 4) | (digit & 0xF);
+            }
+        }
+        if (invalid < 0) {
+            return false;
+        }
+        out.writeLong(most);
+        out.writeLong(least);
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
+    private static boolean isIsoCurrency(String value) {
+        if (value.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = value.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Fields {
+
+        private final WireWriter body;
+        private long present;
+        private long compact;
+        private int index;
+
+        Fields(int count) {
+            this.body = new WireWriter(16 * count);
+        }
+
+        void id(String value) {
+            if (mark(value) && writeCanonicalUuid(value, body)) {
+                compact |= 1L << index;
+            } else if (value != null) {
+                body.writeString(value);
+            }
+            index++;
+        }
+
+        void currency(String value) {
+            if (mark(value) && isIsoCurrency(value)) {
+                compact |= 1L << index;
+                body.writeAscii(value);
+            } else if (value != null) {
+                body.writeString(value);
+            }
+            index++;
+        }
+
+        void decimal(BigDecimal value) {
+            if (mark(value)) {
+                BigInteger unscaled = value.unscaledValue();
+                body.writeZigZag(value.scale());
+                if (unscaled.bitLength() < 64) {
+                    compact |= 1L << index;
+                    body.writeZigZag(unscaled.longValue());
+                } else {
+                    byte[] bytes = unscaled.toByteArray();
+                    body.writeVarLong(bytes.length);
+                    body.writeBytes(bytes);
+                }
+            }
+            index++;
+        }
+
+        void timestamp(LocalDateTime value) {
+            if (mark(value)) {
+                body.writeLong(toEpochMicros(value));
+            }
+            index++;
+        }
+
+        void eventType(ConversionEvent.EventType value) {
+            if (mark(value)) {
+                body.writeByte(value.ordinal());
+            }
+            index++;
+        }
+
+        void string(String value) {
+            if (mark(value)) {
+                body.writeString(value);
+            }
+            index++;
+        }
+
+        byte[] write(int type) {
+            byte[] payload = body.toByteArray();
+            WireWriter out = new WireWriter(payload.length + 24);
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(type);
+            out.writeVarLong(present);
+            out.writeVarLong(compact);
+            out.writeBytes(payload);
+            return out.toByteArray();
+        }
+
+        private boolean mark(Object value) {
+            if (value == null) {
+                return false;
+            }
+            present |= 1L << index;
+            return true;
+        }
+    }
+
+    private static final class FieldReader {
+
+        private final WireReader reader;
+        private final long present;
+        private final long compact;
+        private int index;
+
+        FieldReader(WireReader reader, long present, long compact) {
+            this.reader = reader;
+            this.present = present;
+            this.compact = compact;
+        }
+
+        String id() {
+            String value = null;
+            if (isPresent()) {
+                value = isCompact()
+                        ? new UUID(reader.readLong(), reader.readLong()).toString()
+                        : reader.readString();
+            }
+            index++;
+            return value;
+        }
+
+        String currency() {
+            String value = null;
+            if (isPresent()) {
+                value = isCompact() ? reader.readAscii(3) : reader.readString();
+            }
+            index++;
+            return value;
+        }
+
+        BigDecimal decimal() {
+            BigDecimal value = null;
+            if (isPresent()) {
+                int scale = Math.toIntExact(reader.readZigZag());
+                BigInteger unscaled = isCompact()
+                        ? BigInteger.valueOf(reader.readZigZag())
+                        : new BigInteger(reader.readBytes(Math.toIntExact(reader.readVarLong())));
+                value = new BigDecimal(unscaled, scale);
+            }
+            index++;
+            return value;
+        }
+
+        LocalDateTime timestamp() {
+            LocalDateTime value = isPresent() ? fromEpochMicros(reader.readLong()) : null;
+            index++;
+            return value;
+        }
+
+        ConversionEvent.EventType eventType() {
+            ConversionEvent.EventType value = null;
+            if (isPresent()) {
+                int ordinal = reader.readByte();
+                if (ordinal >= EVENT_TYPES.length) {
+                    throw new SerializationException("Unknown conversion event type ordinal " + ordinal);
+                }
+                value = EVENT_TYPES[ordinal];
+            }
+            index++;
+            return value;
+        }
+
+        String string() {
+            String value = isPresent() ? reader.readString() : null;
+            index++;
+            return value;
+        }
+
+        private boolean isPresent() {
+            return (present & (1L << index)) != 0;
+        }
+
+        private boolean isCompact() {
+            return (compact & (1L << index)) != 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hasandag.exchange.common.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+final class WireReader {
+
+    private final byte[] data;
+    private int position;
+
+    WireReader(byte[] data) {
+        this.data = data;
+    }
+
+    int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint at offset " + position);
+    }
+
+    long readZigZag() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    String readAscii(int length) {
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.US_ASCII);
+        position += length;
+        return value;
+    }
+
+    String readString() {
+        int length = Math.toIntExact(readVarLong());
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > data.length) {
+            throw new SerializationException("Truncated conversion payload: needed " + length
+                    + " bytes at offset " + position + " of " + data.length);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hasandag.exchange.common.serialization;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Run with {@code mvn -pl common-lib test -Dbenchmark=true -Dtest=ConversionWireFormatBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ConversionWireFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    private static final int SAMPLES = 1024;
+
+    @Test
+    void compareJsonAndBinary() {
+        ConversionEvent[] events = new ConversionEvent[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            events[i] = ConversionWireFormatTest.sampleEvent();
+        }
+
+        JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+        JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.hasandag.exchange.common.dto.cqrs",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, ConversionEvent.class.getName()), false);
+        ConversionBinarySerializer binarySerializer = new ConversionBinarySerializer();
+        ConversionBinaryDeserializer binaryDeserializer = new ConversionBinaryDeserializer();
+
+        byte[][] json = new byte[SAMPLES][];
+        byte[][] binary = new byte[SAMPLES][];
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            json[i] = jsonSerializer.serialize("t", events[i]);
+            binary[i] = binarySerializer.serialize("t", events[i]);
+            jsonBytes += json[i].length;
+            binaryBytes += binary[i].length;
+        }
+        System.out.printf("payload size: json %.1f B, binary %.1f B (%.1f%%)%n",
+                (double) jsonBytes / SAMPLES, (double) binaryBytes / SAMPLES, 100.0 * binaryBytes / jsonBytes);
+
+        measure("json encode", i -> jsonSerializer.serialize("t", events[i % SAMPLES]));
+        measure("binary encode", i -> binarySerializer.serialize("t", events[i % SAMPLES]));
+        measure("json decode", i -> jsonDeserializer.deserialize("t", json[i % SAMPLES]));
+        measure("binary decode", i -> binaryDeserializer.deserialize("t", binary[i % SAMPLES]));
+    }
+
+    private static void measure(String name, IntConsumer operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-14s %,12.0f ops/s%n", name, MEASURED_ITERATIONS / seconds);
+    }
+}
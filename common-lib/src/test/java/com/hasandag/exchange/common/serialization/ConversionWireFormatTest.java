@@ -0,0 +1,104 @@
+package com.hasandag.exchange.common.serialization;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionCommand;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversionWireFormatTest {
+
+    static ConversionEvent sampleEvent() {
+        return ConversionEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .commandId(UUID.randomUUID().toString())
+                .transactionId(UUID.randomUUID().toString())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("1250.00"))
+                .targetAmount(new BigDecimal("1150.63"))
+                .exchangeRate(new BigDecimal("0.920504"))
+                .timestamp(LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_897_000))
+                .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
+                .correlationId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    @Test
+    void eventRoundTripsThroughBinaryFormat() {
+        ConversionEvent event = sampleEvent();
+
+        Object decoded = ConversionWireFormat.decode(new ConversionBinarySerializer().serialize("t", event));
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void nonCanonicalValuesFallBackToVariableLengthFields() {
+        ConversionEvent event = ConversionEvent.builder()
+                .eventId("evt-1")
+                .transactionId("BATCH-A1B2C3D4E5F60718")
+                .sourceCurrency("usd")
+                .targetCurrency("XBTC")
+                .sourceAmount(new BigDecimal("-123456789012345678901234567890.123"))
+                .targetAmount(new BigDecimal("1E+5"))
+                .timestamp(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000))
+                .eventType(ConversionEvent.EventType.CONVERSION_FAILED)
+                .userId("user-ğ-42")
+                .errorMessage("Rate service unavailable")
+                .build();
+
+        assertThat(ConversionWireFormat.decode(ConversionWireFormat.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void commandRoundTripsThroughBinaryFormat() {
+        ConversionCommand command = new ConversionCommand();
+        command.setSourceCurrency("GBP");
+        command.setTargetCurrency("JPY");
+        command.setSourceAmount(new BigDecimal("99.95"));
+        command.setTimestamp(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000));
+
+        ConversionCommand decoded = (ConversionCommand) ConversionWireFormat.decode(ConversionWireFormat.encode(command));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(command);
+    }
+
+    @Test
+    void deserializerAcceptsJsonPayloadsAndRejectsUnknownVersions() {
+        ConversionEvent event = sampleEvent();
+        byte[] json = new JsonSerializer<>().serialize("t", event);
+        ConversionBinaryDeserializer deserializer = new ConversionBinaryDeserializer();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.hasandag.exchange.common.dto.cqrs",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, ConversionEvent.class.getName()), false);
+
+        assertThat(deserializer.deserialize("t", json)).isEqualTo(event);
+
+        byte[] binary = ConversionWireFormat.encode(event);
+        binary[1] = 2;
+        assertThatThrownBy(() -> deserializer.deserialize("t", binary))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("version 2");
+    }
+
+    @Test
+    void binaryEventIsLessThanHalfTheJsonSize() {
+        ConversionEvent event = sampleEvent();
+
+        int binarySize = ConversionWireFormat.encode(event).length;
+        int jsonSize = new JsonSerializer<>().serialize("t", event).length;
+
+        assertThat(binarySize * 2).isLessThan(jsonSize);
+    }
+}
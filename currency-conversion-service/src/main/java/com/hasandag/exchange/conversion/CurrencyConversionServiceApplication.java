@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan(basePackages = {"com.hasandag.exchange.conversion.model"})
 @EnableJpaRepositories(basePackages = {"com.hasandag.exchange.conversion.repository"})
 @EnableFeignClients
+@EnableScheduling
 public class CurrencyConversionServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,173 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+@Slf4j
+public class AdaptiveChunkSizePolicy extends CompletionPolicySupport implements ChunkListener, StepExecutionListener {
+
+    public static final String CURRENT_SIZE_KEY = "adaptive.chunk.size.current";
+    public static final String MIN_CHOSEN_KEY = "adaptive.chunk.size.min-chosen";
+    public static final String MAX_CHOSEN_KEY = "adaptive.chunk.size.max-chosen";
+    public static final String ADJUSTMENTS_KEY = "adaptive.chunk.size.adjustments";
+
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetCommitNanos;
+
+    private final ThreadLocal<ChunkSizeContext> currentChunk = new ThreadLocal<>();
+    private final ThreadLocal<Long> chunkStartedAt = new ThreadLocal<>();
+
+    private StepExecution stepExecution;
+    private volatile int chunkSize;
+    private double nanosPerItem;
+    private int minChosen;
+    private int maxChosen;
+    private long adjustments;
+
+    public AdaptiveChunkSizePolicy(int initialSize, int minSize, int maxSize, long targetCommitMs) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetCommitNanos = targetCommitMs * 1_000_000L;
+        this.chunkSize = clamp(initialSize);
+        this.minChosen = chunkSize;
+        this.maxChosen = chunkSize;
+    }
+
+    @Override
+    public synchronized void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+        ExecutionContext context = stepExecution.getExecutionContext();
+        if (context.containsKey(CURRENT_SIZE_KEY)) {
+            chunkSize = clamp(context.getInt(CURRENT_SIZE_KEY));
+            minChosen = context.getInt(MIN_CHOSEN_KEY, chunkSize);
+            maxChosen = context.getInt(MAX_CHOSEN_KEY, chunkSize);
+            adjustments = context.getLong(ADJUSTMENTS_KEY, 0L);
+            log.info("Resuming adaptive chunk size at {} items", chunkSize);
+        }
+        record();
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        ChunkSizeContext context = new ChunkSizeContext(parent, chunkSize);
+        currentChunk.set(context);
+        return context;
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return super.isComplete(context, result) || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return ((ChunkSizeContext) context).isFull();
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((ChunkSizeContext) context).increment();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStartedAt.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        Long startedAt = chunkStartedAt.get();
+        ChunkSizeContext chunk = currentChunk.get();
+        clearThread();
+        if (startedAt == null || chunk == null || chunk.getStartedCount() == 0) {
+            return;
+        }
+        onCommit(System.nanoTime() - startedAt, chunk.getStartedCount());
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        clearThread();
+        onError();
+    }
+
+    @Override
+    public synchronized ExitStatus afterStep(StepExecution stepExecution) {
+        log.info("Adaptive chunk sizing finished at {} items (range chosen: {}-{}, {} adjustments)",
+                chunkSize, minChosen, maxChosen, adjustments);
+        return null;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    synchronized void onCommit(long elapsedNanos, int items) {
+        double observed = (double) elapsedNanos / items;
+        nanosPerItem = nanosPerItem == 0 ? observed : LATENCY_SMOOTHING * observed + (1 - LATENCY_SMOOTHING) * nanosPerItem;
+
+        int desired = (int) Math.round(targetCommitNanos / nanosPerItem);
+        int next = clamp(Math.max(chunkSize / 2, Math.min(chunkSize * 2, desired)));
+        resize(next);
+    }
+
+    synchronized void onError() {
+        resize(clamp(chunkSize / 2));
+    }
+
+    private void resize(int next) {
+        if (next != chunkSize) {
+            log.debug("Adjusting chunk size from {} to {} items", chunkSize, next);
+            chunkSize = next;
+            adjustments++;
+            minChosen = Math.min(minChosen, next);
+            maxChosen = Math.max(maxChosen, next);
+        }
+        record();
+    }
+
+    private void record() {
+        if (stepExecution != null) {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            context.putInt(CURRENT_SIZE_KEY, chunkSize);
+            context.putInt(MIN_CHOSEN_KEY, minChosen);
+            context.putInt(MAX_CHOSEN_KEY, maxChosen);
+            context.putLong(ADJUSTMENTS_KEY, adjustments);
+        }
+    }
+
+    private void clearThread() {
+        chunkStartedAt.remove();
+        currentChunk.remove();
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static class ChunkSizeContext extends RepeatContextSupport {
+
+        private final int size;
+
+        ChunkSizeContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+
+        boolean isFull() {
+            return getStartedCount() >= size;
+        }
+    }
+}
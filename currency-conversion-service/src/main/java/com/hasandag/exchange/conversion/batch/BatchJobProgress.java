@@ -0,0 +1,22 @@
+package com.hasandag.exchange.conversion.batch;
+
+import java.time.Instant;
+
+public record BatchJobProgress(
+        Long jobId,
+        String stepName,
+        String status,
+        long readCount,
+        long writeCount,
+        long filterCount,
+        long readSkipCount,
+        long processSkipCount,
+        long writeSkipCount,
+        long commitCount,
+        double itemsPerSecond,
+        Instant timestamp) {
+
+    public long totalSkipCount() {
+        return readSkipCount + processSkipCount + writeSkipCount;
+    }
+}
@@ -0,0 +1,259 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@Slf4j
+public class BatchJobProgressBroadcaster implements ChunkListener, StepExecutionListener, DisposableBean {
+
+    private static final String PROGRESS_EVENT = "progress";
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final long emitterTimeoutMs;
+    private final ExecutorService sender;
+    private final Map<Long, ProgressChannel> runningJobs = new ConcurrentHashMap<>();
+    private final Map<Long, BatchJobProgress> finishedJobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BatchJobProgress> eldest) {
+            return size() > MAX_FINISHED_JOBS;
+        }
+    };
+
+    public BatchJobProgressBroadcaster(@Value("${conversion.batch.progress.sse-timeout-ms:1800000}") long emitterTimeoutMs,
+                                       @Value("${conversion.batch.progress.sender-threads:2}") int senderThreads) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), task -> {
+            Thread thread = new Thread(task, "batch-progress-sse");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ProgressChannel channel = runningJobs.computeIfAbsent(stepExecution.getJobExecutionId(), id -> new ProgressChannel(sender));
+        channel.publish(snapshot(stepExecution, "STARTED"));
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        publish(context.getStepContext().getStepExecution());
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        publish(context.getStepContext().getStepExecution());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        BatchJobProgress progress = snapshot(stepExecution, stepExecution.getExitStatus().getExitCode());
+        synchronized (finishedJobs) {
+            finishedJobs.put(stepExecution.getJobExecutionId(), progress);
+        }
+        ProgressChannel channel = runningJobs.remove(stepExecution.getJobExecutionId());
+        if (channel != null) {
+            channel.publish(progress);
+            channel.complete();
+        }
+        return null;
+    }
+
+    public boolean isTracked(Long jobId) {
+        if (runningJobs.containsKey(jobId)) {
+            return true;
+        }
+        synchronized (finishedJobs) {
+            return finishedJobs.containsKey(jobId);
+        }
+    }
+
+    public Optional<BatchJobProgress> latest(Long jobId) {
+        ProgressChannel channel = runningJobs.get(jobId);
+        return channel == null ? Optional.empty() : Optional.ofNullable(channel.latest);
+    }
+
+    public SseEmitter subscribe(Long jobId) {
+        return subscribe(jobId, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(Long jobId, SseEmitter emitter) {
+        ProgressChannel channel = runningJobs.get(jobId);
+        if (channel != null) {
+            channel.add(emitter);
+            if (runningJobs.containsKey(jobId)) {
+                return emitter;
+            }
+        }
+
+        BatchJobProgress finished;
+        synchronized (finishedJobs) {
+            finished = finishedJobs.get(jobId);
+        }
+        if (finished != null) {
+            send(emitter, finished);
+        }
+        emitter.complete();
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    private void publish(StepExecution stepExecution) {
+        ProgressChannel channel = runningJobs.get(stepExecution.getJobExecutionId());
+        if (channel != null) {
+            channel.publish(snapshot(stepExecution, stepExecution.getStatus().toString()));
+        }
+    }
+
+    private BatchJobProgress snapshot(StepExecution stepExecution, String status) {
+        long writeCount = stepExecution.getWriteCount();
+        return new BatchJobProgress(
+                stepExecution.getJobExecutionId(),
+                stepExecution.getStepName(),
+                status,
+                stepExecution.getReadCount(),
+                writeCount,
+                stepExecution.getFilterCount(),
+                stepExecution.getReadSkipCount(),
+                stepExecution.getProcessSkipCount(),
+                stepExecution.getWriteSkipCount(),
+                stepExecution.getCommitCount(),
+                throughput(stepExecution.getStartTime(), writeCount),
+                Instant.now());
+    }
+
+    private static double throughput(LocalDateTime startTime, long writeCount) {
+        if (startTime == null) {
+            return 0.0;
+        }
+        long elapsedMs = Duration.between(startTime.atZone(ZoneId.systemDefault()).toInstant(), Instant.now()).toMillis();
+        return elapsedMs > 0 ? writeCount * 1000.0 / elapsedMs : 0.0;
+    }
+
+    private static boolean send(SseEmitter emitter, BatchJobProgress progress) {
+        try {
+            emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping progress subscriber for job {}: {}", progress.jobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static class ProgressChannel {
+
+        private final ExecutorService sender;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private volatile BatchJobProgress latest;
+
+        ProgressChannel(ExecutorService sender) {
+            this.sender = sender;
+        }
+
+        void add(SseEmitter emitter) {
+            Subscriber subscriber = new Subscriber(emitter);
+            subscribers.add(subscriber);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+            emitter.onError(e -> subscribers.remove(subscriber));
+            BatchJobProgress current = latest;
+            if (current != null) {
+                subscriber.offer(current);
+            }
+        }
+
+        void publish(BatchJobProgress progress) {
+            latest = progress;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(progress);
+            }
+        }
+
+        void complete() {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.complete();
+            }
+            subscribers.clear();
+        }
+
+        private class Subscriber {
+
+            private final SseEmitter emitter;
+            private final AtomicReference<BatchJobProgress> pending = new AtomicReference<>();
+            private final AtomicBoolean draining = new AtomicBoolean();
+            private volatile boolean completing;
+
+            Subscriber(SseEmitter emitter) {
+                this.emitter = emitter;
+            }
+
+            void offer(BatchJobProgress progress) {
+                pending.set(progress);
+                schedule();
+            }
+
+            void complete() {
+                completing = true;
+                schedule();
+            }
+
+            private void schedule() {
+                if (draining.compareAndSet(false, true)) {
+                    try {
+                        sender.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        subscribers.remove(this);
+                    }
+                }
+            }
+
+            private void drain() {
+                do {
+                    boolean finished = completing;
+                    BatchJobProgress next;
+                    while ((next = pending.getAndSet(null)) != null) {
+                        if (!send(emitter, next)) {
+                            subscribers.remove(this);
+                            return;
+                        }
+                    }
+                    if (finished) {
+                        emitter.complete();
+                        return;
+                    }
+                    draining.set(false);
+                } while ((pending.get() != null || completing) && draining.compareAndSet(false, true));
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class BatchJobQueue implements TaskExecutor, DisposableBean {
+
+    public static final String OWNER_PARAMETER = "queue.owner";
+    public static final String SUBMITTER_PARAMETER = "queue.submitter";
+
+    private static final String DEFAULT_SUBMITTER = "anonymous";
+
+    private final int capacity;
+    private final int maxConcurrentJobs;
+    private final ThreadPoolTaskExecutor workers;
+    private final TaskExecutorJobLauncher jobLauncher;
+    private final BatchJobSummaryService jobSummaryService;
+    private final String instanceId;
+    private final Timer waitTimer;
+    private final ThreadLocal<String> currentSubmitter = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> rejected = new ThreadLocal<>();
+    private final LinkedHashMap<String, ArrayDeque<QueuedJob>> queuesBySubmitter = new LinkedHashMap<>();
+
+    private int queuedCount;
+    private int runningCount;
+
+    public BatchJobQueue(JobRepository jobRepository,
+                         BatchJobSummaryService jobSummaryService,
+                         MeterRegistry meterRegistry,
+                         @Value("${conversion.batch.queue.capacity:50}") int capacity,
+                         @Value("${conversion.batch.queue.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                         @Value("${conversion.instance-id:local}") String instanceId) throws Exception {
+        this.capacity = capacity;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.jobSummaryService = jobSummaryService;
+        this.instanceId = instanceId;
+
+        this.workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(maxConcurrentJobs);
+        workers.setMaxPoolSize(maxConcurrentJobs);
+        workers.setQueueCapacity(maxConcurrentJobs);
+        workers.setThreadNamePrefix("batch-job-");
+        workers.initialize();
+
+        this.jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(this);
+        jobLauncher.afterPropertiesSet();
+
+        Gauge.builder("batch.job.queue.depth", this, BatchJobQueue::getQueuedCount)
+                .description("Bulk conversion jobs waiting for a free job slot")
+                .register(meterRegistry);
+        Gauge.builder("batch.job.queue.running", this, BatchJobQueue::getRunningCount)
+                .description("Bulk conversion jobs currently running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("batch.job.queue.wait")
+                .description("Time bulk conversion jobs spend queued before they start")
+                .register(meterRegistry);
+    }
+
+    public JobExecution launch(String submitter, Job job, JobParameters jobParameters) throws Exception {
+        if (!hasCapacity()) {
+            throw new TaskRejectedException("Job queue is full (" + capacity + " jobs waiting)");
+        }
+        String resolvedSubmitter = submitter == null || submitter.isBlank() ? DEFAULT_SUBMITTER : submitter;
+        currentSubmitter.set(resolvedSubmitter);
+        try {
+            JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder(jobParameters)
+                    .addString(OWNER_PARAMETER, instanceId, false)
+                    .addString(SUBMITTER_PARAMETER, resolvedSubmitter, false)
+                    .toJobParameters());
+            if (Boolean.TRUE.equals(rejected.get())) {
+                throw new TaskRejectedException("Job queue is full (" + capacity + " jobs waiting)");
+            }
+            jobSummaryService.recordJobQueued(jobExecution);
+            return jobExecution;
+        } finally {
+            currentSubmitter.remove();
+            rejected.remove();
+        }
+    }
+
+    public void resume(Job job, JobExecution jobExecution) {
+        String submitter = jobExecution.getJobParameters().getString(SUBMITTER_PARAMETER, DEFAULT_SUBMITTER);
+        enqueue(submitter, () -> {
+            log.info("Resuming queued job {} for submitter {}", jobExecution.getId(), submitter);
+            try {
+                job.execute(jobExecution);
+            } catch (Throwable t) {
+                log.error("Resumed job {} failed unexpectedly", jobExecution.getId(), t);
+            }
+        });
+    }
+
+    public boolean isOwnedByThisInstance(JobExecution jobExecution) {
+        return instanceId.equals(jobExecution.getJobParameters().getString(OWNER_PARAMETER));
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        enqueue(currentSubmitter.get() != null ? currentSubmitter.get() : DEFAULT_SUBMITTER, task);
+    }
+
+    synchronized void enqueue(String submitter, Runnable task) {
+        if (queuedCount >= capacity) {
+            rejected.set(true);
+            throw new TaskRejectedException("Job queue is full (" + capacity + " jobs waiting)");
+        }
+        queuesBySubmitter.computeIfAbsent(submitter, key -> new ArrayDeque<>())
+                .add(new QueuedJob(task, System.nanoTime()));
+        queuedCount++;
+        log.debug("Queued bulk conversion job for submitter {}, queue depth: {}", submitter, queuedCount);
+        dispatch();
+    }
+
+    public synchronized boolean hasCapacity() {
+        return queuedCount < capacity;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queuedCount;
+    }
+
+    public synchronized int getRunningCount() {
+        return runningCount;
+    }
+
+    private void dispatch() {
+        while (runningCount < maxConcurrentJobs && queuedCount > 0) {
+            QueuedJob next = pollNextFairly();
+            queuedCount--;
+            runningCount++;
+            waitTimer.record(Duration.ofNanos(System.nanoTime() - next.enqueuedAt()));
+            workers.execute(() -> {
+                try {
+                    next.task().run();
+                } finally {
+                    synchronized (this) {
+                        runningCount--;
+                        dispatch();
+                    }
+                }
+            });
+        }
+    }
+
+    private QueuedJob pollNextFairly() {
+        Iterator<Map.Entry<String, ArrayDeque<QueuedJob>>> iterator = queuesBySubmitter.entrySet().iterator();
+        Map.Entry<String, ArrayDeque<QueuedJob>> entry = iterator.next();
+        iterator.remove();
+        QueuedJob next = entry.getValue().poll();
+        if (!entry.getValue().isEmpty()) {
+            queuesBySubmitter.put(entry.getKey(), entry.getValue());
+        }
+        return next;
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    private record QueuedJob(Runnable task, long enqueuedAt) {
+    }
+}
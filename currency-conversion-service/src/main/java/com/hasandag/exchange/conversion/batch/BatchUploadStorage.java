@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@Slf4j
+public class BatchUploadStorage {
+
+    public static final String COMPRESSION_GZIP = "gzip";
+    public static final String COMPRESSION_NONE = "none";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path stagingDir;
+
+    public BatchUploadStorage(@Value("${conversion.batch.upload.staging-dir:${java.io.tmpdir}/conversion-uploads}") String stagingDir) {
+        this.stagingDir = Paths.get(stagingDir);
+    }
+
+    public Path stage(MultipartFile file, String compression) throws IOException {
+        Files.createDirectories(stagingDir);
+        Path target = stagingDir.resolve(UUID.randomUUID() + (COMPRESSION_GZIP.equals(compression) ? ".csv.gz" : ".csv"));
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target);
+        }
+        log.debug("Staged upload {} ({} bytes) at {}", file.getOriginalFilename(), file.getSize(), target);
+        return target;
+    }
+
+    public void delete(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static String resolveCompression(MultipartFile file, String contentEncoding) {
+        String filename = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        boolean gzip = "gzip".equalsIgnoreCase(contentEncoding)
+                || (filename != null && filename.toLowerCase().endsWith(".gz"))
+                || "application/gzip".equalsIgnoreCase(contentType)
+                || "application/x-gzip".equalsIgnoreCase(contentType);
+        return gzip ? COMPRESSION_GZIP : COMPRESSION_NONE;
+    }
+
+    public static Reader openReader(Path path, String compression) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        try {
+            if (COMPRESSION_GZIP.equals(compression)) {
+                in = new GZIPInputStream(in, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
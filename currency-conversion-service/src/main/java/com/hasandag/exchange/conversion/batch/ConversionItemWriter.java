@@ -4,16 +4,19 @@ import com.hasandag.exchange.common.dto.ConversionResponse;
 import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
 import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
 import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.repository.command.BulkInsertResult;
 import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -21,95 +24,95 @@ public class ConversionItemWriter implements ItemWriter<ConversionResponse> {
 
     private final CurrencyConversionMongoRepository mongoRepository;
     private final ConversionEventProducer conversionEventProducer;
+    private final Long jobExecutionId;
+    private final Map<String, ConversionEvent> unpublished = new ConcurrentHashMap<>();
 
     @Override
     @Transactional
     public void write(Chunk<? extends ConversionResponse> chunk) {
-        List<ConversionResponse> successfulWrites = new ArrayList<>();
-        
-        for (ConversionResponse response : chunk) {
+        List<ConversionEvent> events = new ArrayList<>(chunk.size());
+        int newRecords = chunk.size();
+
+        if (mongoRepository != null) {
+            List<CurrencyConversionDocument> documents = new ArrayList<>(chunk.size());
+            Map<CurrencyConversionDocument, ConversionResponse> responses = new IdentityHashMap<>(chunk.size());
+            for (ConversionResponse response : chunk) {
+                CurrencyConversionDocument document = toDocument(response);
+                documents.add(document);
+                responses.put(document, response);
+            }
+
             try {
-                if (isTransactionAlreadyProcessed(response.getTransactionId())) {
-                    log.debug("Skipping duplicate transaction: {}", response.getTransactionId());
-                    successfulWrites.add(response);
-                    continue;
+                BulkInsertResult result = mongoRepository.insertAllUnordered(documents);
+                newRecords = result.insertedCount();
+                for (CurrencyConversionDocument document : result.inserted()) {
+                    ConversionEvent event = toEvent(responses.get(document));
+                    unpublished.put(event.getTransactionId(), event);
+                    events.add(event);
                 }
-                
-                if (mongoRepository != null) {
-                    try {
-                        CurrencyConversionDocument document = CurrencyConversionDocument.builder()
-                                .transactionId(response.getTransactionId())
-                                .sourceCurrency(response.getSourceCurrency())
-                                .targetCurrency(response.getTargetCurrency())
-                                .sourceAmount(response.getSourceAmount())
-                                .targetAmount(response.getTargetAmount())
-                                .exchangeRate(response.getExchangeRate())
-                                .timestamp(response.getTimestamp())
-                                .build();
-
-                        mongoRepository.save(document);
-                        log.debug("Saved conversion to Write Model (MongoDB): {}", response.getTransactionId());
-                        successfulWrites.add(response);
-                        
-                    } catch (DuplicateKeyException e) {
-                        log.debug("Duplicate detected in MongoDB (handled gracefully): {}", response.getTransactionId());
-                        successfulWrites.add(response);
-                    } catch (Exception e) {
-                        log.error("Failed to save to MongoDB: {} - {}", response.getTransactionId(), e.getMessage());
-                        throw e; 
+                for (CurrencyConversionDocument duplicate : result.duplicates()) {
+                    ConversionEvent pending = unpublished.get(duplicate.getTransactionId());
+                    if (pending != null) {
+                        events.add(pending);
                     }
-                } else {
-                    log.warn("MongoDB repository not available - skipping write model save");
-                    successfulWrites.add(response);
                 }
-
+                if (result.duplicateCount() > 0 && log.isDebugEnabled()) {
+                    log.debug("Skipped {} duplicate transactions already in Write Model (MongoDB): {}",
+                            result.duplicateCount(),
+                            result.duplicates().stream().map(CurrencyConversionDocument::getTransactionId).toList());
+                }
             } catch (Exception e) {
-                log.error("Error processing conversion: {} - {}", 
-                        response.getTransactionId(), e.getMessage());
+                log.error("Failed to bulk save {} conversions to MongoDB: {}", documents.size(), e.getMessage());
                 throw e;
             }
+        } else {
+            log.warn("MongoDB repository not available - skipping write model save");
+            for (ConversionResponse response : chunk) {
+                events.add(toEvent(response));
+            }
         }
 
-        publishEvents(successfulWrites);
-        log.info("Processed {} conversion records via CQRS pattern", successfulWrites.size());
+        publishEvents(events);
+        events.forEach(event -> unpublished.remove(event.getTransactionId()));
+        log.info("Processed {} conversion records via CQRS pattern ({} new, {} already processed, {} events published)",
+                chunk.size(), newRecords, chunk.size() - newRecords, events.size());
     }
 
-    private boolean isTransactionAlreadyProcessed(String transactionId) {
-        if (mongoRepository != null) {
-            try {
-                return mongoRepository.existsByTransactionId(transactionId);
-            } catch (Exception e) {
-                log.warn("Error checking for duplicate in MongoDB: {} - {}", transactionId, e.getMessage());
-                return false;
-            }
-        }
-        return false;
+    private CurrencyConversionDocument toDocument(ConversionResponse response) {
+        return CurrencyConversionDocument.builder()
+                .transactionId(response.getTransactionId())
+                .sourceCurrency(response.getSourceCurrency())
+                .targetCurrency(response.getTargetCurrency())
+                .sourceAmount(response.getSourceAmount())
+                .targetAmount(response.getTargetAmount())
+                .exchangeRate(response.getExchangeRate())
+                .timestamp(response.getTimestamp())
+                .batchJobId(jobExecutionId)
+                .build();
     }
 
-    private void publishEvents(List<ConversionResponse> conversions) {
-        if (conversionEventProducer != null) {
-            for (ConversionResponse conversion : conversions) {
-                try {
-                    ConversionEvent event = ConversionEvent.builder()
-                            .transactionId(conversion.getTransactionId())
-                            .sourceCurrency(conversion.getSourceCurrency())
-                            .targetCurrency(conversion.getTargetCurrency())
-                            .sourceAmount(conversion.getSourceAmount())
-                            .targetAmount(conversion.getTargetAmount())
-                            .exchangeRate(conversion.getExchangeRate())
-                            .timestamp(conversion.getTimestamp())
-                            .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
-                            .build();
+    private static ConversionEvent toEvent(ConversionResponse conversion) {
+        return ConversionEvent.builder()
+                .transactionId(conversion.getTransactionId())
+                .sourceCurrency(conversion.getSourceCurrency())
+                .targetCurrency(conversion.getTargetCurrency())
+                .sourceAmount(conversion.getSourceAmount())
+                .targetAmount(conversion.getTargetAmount())
+                .exchangeRate(conversion.getExchangeRate())
+                .timestamp(conversion.getTimestamp())
+                .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
+                .build();
+    }
 
-                    conversionEventProducer.sendConversionEvent(event);
-                    log.debug("Published CQRS event for Read Model update: {}", conversion.getTransactionId());
-                } catch (Exception e) {
-                    log.warn("Failed to publish CQRS event for conversion: {} - {}",
-                            conversion.getTransactionId(), e.getMessage());
-                }
-            }
+    private void publishEvents(List<ConversionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (conversionEventProducer != null) {
+            conversionEventProducer.sendConversionEventsAndAwait(events);
+            log.debug("Published {} CQRS events for Read Model update", events.size());
         } else {
             log.warn("Event producer not available - Read Model will not be updated");
         }
     }
-} 
\ No newline at end of file
+}
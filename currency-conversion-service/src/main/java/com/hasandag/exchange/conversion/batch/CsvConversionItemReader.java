@@ -13,17 +13,25 @@ import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Iterator;
 
 @Slf4j
 public class CsvConversionItemReader implements ItemReader<ConversionRequest>, ItemStream {
     
+    public static final String COMMITTED_ITEM_COUNT = "committed.item.count";
+
     private static final String CURRENT_ITEM_COUNT = "current.item.count";
     private static final String FILE_CONTENT_KEY = "file.content";
+    private static final String FILE_PATH_KEY = "file.path";
+    private static final String FILE_COMPRESSION_KEY = "file.compression";
     
     private String fileContent;
+    private String filePath;
+    private String compression;
     private String originalFilename;
     private CSVParser csvParser;
     private Iterator<CSVRecord> recordIterator;
@@ -32,21 +40,31 @@ public class CsvConversionItemReader implements ItemReader<ConversionRequest>, I
     @BeforeStep
     public void beforeStep(StepExecution stepExecution) {
         this.fileContent = stepExecution.getJobParameters().getString(FILE_CONTENT_KEY);
+        this.filePath = stepExecution.getJobParameters().getString(FILE_PATH_KEY);
+        this.compression = stepExecution.getJobParameters().getString(FILE_COMPRESSION_KEY, BatchUploadStorage.COMPRESSION_NONE);
         this.originalFilename = stepExecution.getJobParameters().getString("original.filename");
-        log.info("Reading CSV content from memory, original filename: {}", originalFilename);
+        if (filePath != null) {
+            log.info("Reading CSV from staged upload {} (compression: {}), original filename: {}", filePath, compression, originalFilename);
+        } else {
+            log.info("Reading CSV content from memory, original filename: {}", originalFilename);
+        }
     }
 
     @Override
     public void open(ExecutionContext executionContext) throws ItemStreamException {
         try {
-            currentItemCount = executionContext.getInt(CURRENT_ITEM_COUNT, 0);
+            currentItemCount = resumePosition(executionContext);
             log.debug("Current item count from execution context: {}", currentItemCount);
 
-            if (fileContent == null || fileContent.trim().isEmpty()) {
+            Reader source;
+            if (filePath != null) {
+                source = BatchUploadStorage.openReader(Path.of(filePath), compression);
+            } else if (fileContent == null || fileContent.trim().isEmpty()) {
                 throw new ItemStreamException("CSV file content is null or empty");
+            } else {
+                source = new StringReader(fileContent);
             }
 
-            StringReader stringReader = new StringReader(fileContent);
             csvParser = CSVFormat.DEFAULT
                     .builder()
                     .setHeader()
@@ -54,7 +72,7 @@ public class CsvConversionItemReader implements ItemReader<ConversionRequest>, I
                     .setIgnoreHeaderCase(true)
                     .setTrim(true)
                     .build()
-                    .parse(stringReader);
+                    .parse(source);
             
             recordIterator = csvParser.iterator();
             
@@ -64,57 +82,64 @@ public class CsvConversionItemReader implements ItemReader<ConversionRequest>, I
                 }
             }
             
-            log.info("CSV reader opened from memory, skipped {} records", currentItemCount);
+            log.info("CSV reader opened, skipped {} records", currentItemCount);
         } catch (IOException e) {
-            throw new ItemStreamException("Error parsing CSV content from memory", e);
+            throw new ItemStreamException("Error parsing CSV content", e);
         }
     }
 
     @Override
-    public ConversionRequest read() {
+    public synchronized ConversionRequest read() {
         if (recordIterator != null && recordIterator.hasNext()) {
             CSVRecord record = recordIterator.next();
             currentItemCount++;
+            long lineNumber = record.getRecordNumber() + 1;
+            
+            String sourceAmountStr = value(record, "sourceAmount");
+            String sourceCurrency = value(record, "sourceCurrency");
+            String targetCurrency = value(record, "targetCurrency");
+            
+            if (sourceAmountStr == null || sourceAmountStr.trim().isEmpty()) {
+                throw new RejectedRowException(lineNumber, "Missing or empty sourceAmount", sourceAmountStr, sourceCurrency, targetCurrency);
+            }
+            if (sourceCurrency == null || sourceCurrency.trim().isEmpty()) {
+                throw new RejectedRowException(lineNumber, "Missing or empty sourceCurrency", sourceAmountStr, sourceCurrency, targetCurrency);
+            }
+            if (targetCurrency == null || targetCurrency.trim().isEmpty()) {
+                throw new RejectedRowException(lineNumber, "Missing or empty targetCurrency", sourceAmountStr, sourceCurrency, targetCurrency);
+            }
             
+            BigDecimal sourceAmount;
             try {
-                String sourceAmountStr = record.get("sourceAmount");
-                String sourceCurrency = record.get("sourceCurrency");
-                String targetCurrency = record.get("targetCurrency");
-                
-                if (sourceAmountStr == null || sourceAmountStr.trim().isEmpty()) {
-                    log.error("Missing or empty sourceAmount at line {}", currentItemCount);
-                    throw new IllegalArgumentException("Missing or empty sourceAmount");
-                }
-                if (sourceCurrency == null || sourceCurrency.trim().isEmpty()) {
-                    log.error("Missing or empty sourceCurrency at line {}", currentItemCount);
-                    throw new IllegalArgumentException("Missing or empty sourceCurrency");
-                }
-                if (targetCurrency == null || targetCurrency.trim().isEmpty()) {
-                    log.error("Missing or empty targetCurrency at line {}", currentItemCount);
-                    throw new IllegalArgumentException("Missing or empty targetCurrency");
-                }
-                
-                BigDecimal sourceAmount;
-                try {
-                    sourceAmount = new BigDecimal(sourceAmountStr.trim());
-                } catch (NumberFormatException e) {
-                    log.error("Invalid sourceAmount '{}' at line {}: {}", sourceAmountStr, currentItemCount, e.getMessage());
-                    throw new IllegalArgumentException("Invalid sourceAmount: " + sourceAmountStr);
-                }
-                
-                return ConversionRequest.builder()
-                        .sourceAmount(sourceAmount)
-                        .sourceCurrency(sourceCurrency.trim().toUpperCase())
-                        .targetCurrency(targetCurrency.trim().toUpperCase())
-                        .build();
-            } catch (Exception e) {
-                log.error("Error parsing CSV record at line {}: {}", currentItemCount, e.getMessage());
-                throw e;
+                sourceAmount = new BigDecimal(sourceAmountStr.trim());
+            } catch (NumberFormatException e) {
+                throw new RejectedRowException(lineNumber, "Invalid sourceAmount: " + sourceAmountStr, sourceAmountStr, sourceCurrency, targetCurrency);
             }
+            
+            return new CsvConversionRequest(
+                    sourceAmount,
+                    sourceCurrency.trim().toUpperCase(),
+                    targetCurrency.trim().toUpperCase(),
+                    lineNumber);
         }
         return null;
     }
 
+    public synchronized int getCurrentItemCount() {
+        return currentItemCount;
+    }
+
+    public static int resumePosition(ExecutionContext executionContext) {
+        if (executionContext.containsKey(COMMITTED_ITEM_COUNT)) {
+            return executionContext.getInt(COMMITTED_ITEM_COUNT);
+        }
+        return executionContext.getInt(CURRENT_ITEM_COUNT, 0);
+    }
+
+    private static String value(CSVRecord record, String name) {
+        return record.isMapped(name) && record.isSet(name) ? record.get(name) : null;
+    }
+
     @Override
     public void update(ExecutionContext executionContext) throws ItemStreamException {
         executionContext.putInt(CURRENT_ITEM_COUNT, currentItemCount);
@@ -129,7 +154,7 @@ public class CsvConversionItemReader implements ItemReader<ConversionRequest>, I
             if (csvParser != null) {
                 csvParser.close();
             }
-            log.info("CSV reader closed after processing {} records from memory", currentItemCount);
+            log.info("CSV reader closed after processing {} records", currentItemCount);
         } catch (IOException e) {
             throw new ItemStreamException("Error closing CSV parser", e);
         }
@@ -0,0 +1,19 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class CsvConversionRequest extends ConversionRequest {
+
+    private final long lineNumber;
+
+    public CsvConversionRequest(BigDecimal sourceAmount, String sourceCurrency, String targetCurrency, long lineNumber) {
+        super(sourceAmount, sourceCurrency, targetCurrency);
+        this.lineNumber = lineNumber;
+    }
+}
@@ -0,0 +1,275 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "conversion.batch.ingest.enabled", havingValue = "true")
+public class DirectoryIngestionWatcher implements SmartLifecycle {
+
+    public static final String SOURCE_PARAMETER = "file.source";
+    public static final String SOURCE_DIRECTORY = "directory";
+
+    private static final String FILE_PATH_PARAMETER = "file.path";
+
+    private final Job bulkConversionJob;
+    private final BatchJobQueue batchJobQueue;
+    private final JobExplorer jobExplorer;
+    private final Path inboxDir;
+    private final Path processingDir;
+    private final Path doneDir;
+    private final Path failedDir;
+    private final Semaphore jobSlots;
+    private final Set<String> claimedFiles = ConcurrentHashMap.newKeySet();
+    private final long rescanIntervalMs;
+    private final long minFileAgeMs;
+
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public DirectoryIngestionWatcher(Job bulkConversionJob,
+                                     BatchJobQueue batchJobQueue,
+                                     JobExplorer jobExplorer,
+                                     @Value("${conversion.batch.ingest.dir}") String inboxDir,
+                                     @Value("${conversion.batch.ingest.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                     @Value("${conversion.batch.ingest.rescan-interval-ms:30000}") long rescanIntervalMs,
+                                     @Value("${conversion.batch.ingest.min-file-age-ms:2000}") long minFileAgeMs) {
+        this.bulkConversionJob = bulkConversionJob;
+        this.batchJobQueue = batchJobQueue;
+        this.jobExplorer = jobExplorer;
+        this.inboxDir = Paths.get(inboxDir);
+        this.processingDir = this.inboxDir.resolve("processing");
+        this.doneDir = this.inboxDir.resolve("done");
+        this.failedDir = this.inboxDir.resolve("failed");
+        this.jobSlots = new Semaphore(maxConcurrentJobs);
+        this.rescanIntervalMs = rescanIntervalMs;
+        this.minFileAgeMs = minFileAgeMs;
+    }
+
+    @Override
+    public void start() {
+        try {
+            for (Path dir : List.of(inboxDir, processingDir, doneDir, failedDir)) {
+                Files.createDirectories(dir);
+            }
+            recoverOrphanedClaims();
+            watchService = FileSystems.getDefault().newWatchService();
+            inboxDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot watch ingest directory " + inboxDir, e);
+        }
+
+        running = true;
+        watcherThread = new Thread(this::watch, "batch-ingest-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching {} for bulk conversion files", inboxDir);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            log.warn("Error closing ingest watch service: {}", e.getMessage());
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void onJobFinished(JobExecution jobExecution) {
+        if (!SOURCE_DIRECTORY.equals(jobExecution.getJobParameters().getString(SOURCE_PARAMETER))) {
+            return;
+        }
+        String filePath = jobExecution.getJobParameters().getString(FILE_PATH_PARAMETER);
+        if (filePath == null) {
+            return;
+        }
+        try {
+            moveTo(Paths.get(filePath), jobExecution.getStatus() == BatchStatus.COMPLETED ? doneDir : failedDir);
+        } finally {
+            if (claimedFiles.remove(filePath)) {
+                jobSlots.release();
+            }
+        }
+    }
+
+    void recoverOrphanedClaims() throws IOException {
+        Map<String, JobExecution> runningByFile = jobExplorer.findRunningJobExecutions(bulkConversionJob.getName()).stream()
+                .filter(execution -> execution.getJobParameters().getString(FILE_PATH_PARAMETER) != null)
+                .collect(Collectors.toMap(execution -> execution.getJobParameters().getString(FILE_PATH_PARAMETER),
+                        Function.identity(), (first, second) -> first));
+        List<Path> claimed;
+        try (Stream<Path> files = Files.list(processingDir)) {
+            claimed = files.filter(Files::isRegularFile).toList();
+        }
+
+        for (Path file : claimed) {
+            JobExecution execution = runningByFile.get(file.toString());
+            boolean orphaned = execution == null
+                    ? isStaleClaim(file)
+                    : batchJobQueue.isOwnedByThisInstance(execution) && execution.getStatus() != BatchStatus.STARTING;
+            if (orphaned) {
+                log.warn("Claimed file {} has no live job after a restart", file.getFileName());
+                moveTo(file, failedDir);
+            }
+        }
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                scan();
+                WatchKey key = watchService.poll(rescanIntervalMs, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                    Thread.sleep(Math.min(minFileAgeMs, rescanIntervalMs));
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error scanning ingest directory {}", inboxDir, e);
+            }
+        }
+    }
+
+    void scan() throws IOException {
+        List<Path> candidates;
+        try (Stream<Path> files = Files.list(inboxDir)) {
+            candidates = files
+                    .filter(Files::isRegularFile)
+                    .filter(DirectoryIngestionWatcher::isConversionFile)
+                    .filter(this::isSettled)
+                    .sorted(Comparator.comparing(DirectoryIngestionWatcher::lastModified))
+                    .toList();
+        }
+
+        for (Path candidate : candidates) {
+            if (!jobSlots.tryAcquire()) {
+                return;
+            }
+            Path claimed = claim(candidate);
+            if (claimed == null) {
+                jobSlots.release();
+                continue;
+            }
+            launch(candidate, claimed);
+        }
+    }
+
+    private Path claim(Path file) throws IOException {
+        Path claimed = processingDir.resolve(System.currentTimeMillis() + "-" + file.getFileName());
+        try {
+            return Files.move(file, claimed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            log.debug("File {} was claimed by another instance", file.getFileName());
+            return null;
+        }
+    }
+
+    private void launch(Path original, Path claimed) throws IOException {
+        String filename = original.getFileName().toString();
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString(FILE_PATH_PARAMETER, claimed.toString())
+                .addString("file.compression", filename.toLowerCase(Locale.ROOT).endsWith(".gz")
+                        ? BatchUploadStorage.COMPRESSION_GZIP : BatchUploadStorage.COMPRESSION_NONE)
+                .addString(SOURCE_PARAMETER, SOURCE_DIRECTORY)
+                .addString("original.filename", filename)
+                .addLong("file.size", Files.size(claimed))
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        claimedFiles.add(claimed.toString());
+        try {
+            JobExecution jobExecution = batchJobQueue.launch("directory:" + inboxDir, bulkConversionJob, jobParameters);
+            log.info("Launched batch job {} for ingested file {}", jobExecution.getId(), filename);
+        } catch (Exception e) {
+            if (claimedFiles.remove(claimed.toString())) {
+                log.warn("Could not launch batch job for {}, returning it to the inbox: {}", filename, e.getMessage());
+                Files.move(claimed, original, StandardCopyOption.ATOMIC_MOVE);
+                jobSlots.release();
+            }
+        }
+    }
+
+    private void moveTo(Path file, Path targetDir) {
+        try {
+            Files.move(file, targetDir.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+            log.info("Moved ingested file {} to {}", file.getFileName(), targetDir);
+        } catch (IOException e) {
+            log.error("Could not move ingested file {} to {}: {}", file, targetDir, e.getMessage());
+        }
+    }
+
+    private boolean isStaleClaim(Path file) {
+        String name = file.getFileName().toString();
+        int separator = name.indexOf('-');
+        try {
+            return System.currentTimeMillis() - Long.parseLong(name.substring(0, separator)) >= minFileAgeMs;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private boolean isSettled(Path file) {
+        return System.currentTimeMillis() - lastModified(file) >= minFileAgeMs;
+    }
+
+    private static boolean isConversionFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return !name.startsWith(".") && (name.endsWith(".csv") || name.endsWith(".csv.gz"));
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
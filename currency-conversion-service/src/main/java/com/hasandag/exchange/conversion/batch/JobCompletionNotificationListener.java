@@ -1,20 +1,38 @@
 package com.hasandag.exchange.conversion.batch;
 
+import com.hasandag.exchange.conversion.batch.remote.RemoteChunkWorker;
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.StepExecution;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
-public class JobCompletionNotificationListener implements JobExecutionListener {
+public class JobCompletionNotificationListener implements JobExecutionListener, StepExecutionListener {
+
+    private final BatchJobSummaryService jobSummaryService;
+    private final BatchUploadStorage uploadStorage;
+    private final ObjectProvider<DirectoryIngestionWatcher> ingestionWatcher;
+    private final ObjectProvider<RemoteChunkWorker> chunkWorker;
 
     @Override
     public void beforeJob(JobExecution jobExecution) {
         log.info("Starting batch job: {}", jobExecution.getJobInstance().getJobName());
+        jobSummaryService.recordJobStarted(jobExecution);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        jobSummaryService.recordStepFinished(stepExecution);
+        return null;
     }
 
     @Override
@@ -26,10 +44,17 @@ public class JobCompletionNotificationListener implements JobExecutionListener {
                     .mapToLong(StepExecution::getWriteCount).sum();
             
             log.info("Batch job completed - Read: {}, Written: {}", totalRead, totalWritten);
+            if (!DirectoryIngestionWatcher.SOURCE_DIRECTORY.equals(
+                    jobExecution.getJobParameters().getString(DirectoryIngestionWatcher.SOURCE_PARAMETER))) {
+                uploadStorage.delete(jobExecution.getJobParameters().getString("file.path"));
+            }
         } else if (jobExecution.getStatus() == BatchStatus.FAILED) {
             log.error("Batch job failed with status: {}", jobExecution.getExitStatus().getExitCode());
         } else {
             log.warn("Batch job finished with status: {}", jobExecution.getStatus());
         }
+        jobSummaryService.recordJobFinished(jobExecution);
+        ingestionWatcher.ifAvailable(watcher -> watcher.onJobFinished(jobExecution));
+        chunkWorker.ifAvailable(worker -> worker.onJobFinished(jobExecution));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueuedJobRecovery {
+
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    private final List<Job> jobs;
+    private final BatchJobQueue batchJobQueue;
+    private final BatchJobSummaryService jobSummaryService;
+    private final BatchUploadStorage uploadStorage;
+    private final ObjectProvider<DirectoryIngestionWatcher> ingestionWatcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverQueuedJobs() {
+        for (Job job : jobs) {
+            try {
+                for (JobExecution jobExecution : jobExplorer.findRunningJobExecutions(job.getName())) {
+                    if (jobExecution.getStatus() == BatchStatus.STARTING && batchJobQueue.isOwnedByThisInstance(jobExecution)) {
+                        recover(job, jobExecution);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to recover queued {} executions", job.getName(), e);
+            }
+        }
+    }
+
+    private void recover(Job job, JobExecution jobExecution) {
+        String filePath = jobExecution.getJobParameters().getString("file.path");
+        if (filePath != null && Files.isReadable(Paths.get(filePath))) {
+            try {
+                batchJobQueue.resume(job, jobExecution);
+                log.info("Re-queued job {} left in STARTING by a previous run", jobExecution.getId());
+                return;
+            } catch (TaskRejectedException e) {
+                log.warn("Job queue is full, failing orphaned job {} instead of re-queueing it", jobExecution.getId());
+            }
+        }
+
+        jobExecution.setStatus(BatchStatus.FAILED);
+        jobExecution.setExitStatus(ExitStatus.FAILED.addExitDescription(
+                "Job was still queued when the service stopped and could not be resumed"));
+        jobExecution.setEndTime(LocalDateTime.now());
+        jobRepository.update(jobExecution);
+        jobSummaryService.recordJobFinished(jobExecution);
+        if (!DirectoryIngestionWatcher.SOURCE_DIRECTORY.equals(
+                jobExecution.getJobParameters().getString(DirectoryIngestionWatcher.SOURCE_PARAMETER))) {
+            uploadStorage.delete(filePath);
+        }
+        ingestionWatcher.ifAvailable(watcher -> watcher.onJobFinished(jobExecution));
+        log.warn("Marked orphaned queued job {} as FAILED", jobExecution.getId());
+    }
+}
@@ -0,0 +1,44 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+@Component
+@Slf4j
+public class RejectFileStore {
+
+    private final Path rejectDir;
+
+    public RejectFileStore(@Value("${conversion.batch.reject.dir:${java.io.tmpdir}/conversion-rejects}") String rejectDir) {
+        this.rejectDir = Paths.get(rejectDir);
+    }
+
+    public Path prepare(Long jobExecutionId) throws IOException {
+        Files.createDirectories(rejectDir);
+        return pathFor(jobExecutionId);
+    }
+
+    public Optional<Path> find(Long jobExecutionId) {
+        Path path = pathFor(jobExecutionId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public void delete(Long jobExecutionId) {
+        try {
+            Files.deleteIfExists(pathFor(jobExecutionId));
+        } catch (IOException e) {
+            log.warn("Could not delete reject file for job {}: {}", jobExecutionId, e.getMessage());
+        }
+    }
+
+    private Path pathFor(Long jobExecutionId) {
+        return rejectDir.resolve("job-" + jobExecutionId + "-rejects.csv");
+    }
+}
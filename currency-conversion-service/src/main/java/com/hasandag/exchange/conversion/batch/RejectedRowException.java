@@ -0,0 +1,21 @@
+package com.hasandag.exchange.conversion.batch;
+
+import lombok.Getter;
+
+@Getter
+public class RejectedRowException extends IllegalArgumentException {
+
+    private final long lineNumber;
+    private final String sourceAmount;
+    private final String sourceCurrency;
+    private final String targetCurrency;
+
+    public RejectedRowException(long lineNumber, String reason,
+                                String sourceAmount, String sourceCurrency, String targetCurrency) {
+        super(reason);
+        this.lineNumber = lineNumber;
+        this.sourceAmount = sourceAmount;
+        this.sourceCurrency = sourceCurrency;
+        this.targetCurrency = targetCurrency;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.common.dto.ConversionResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Slf4j
+public class RejectedRowListener implements SkipListener<ConversionRequest, Object>, StepExecutionListener {
+
+    private static final String[] CSV_HEADER = {
+            "line", "stage", "reason", "sourceAmount", "sourceCurrency", "targetCurrency", "transactionId"
+    };
+
+    private final RejectFileStore rejectFileStore;
+    private final Long jobExecutionId;
+
+    private CSVPrinter printer;
+    private Path rejectFile;
+    private long readRejects;
+    private long processRejects;
+    private long writeRejects;
+
+    public RejectedRowListener(RejectFileStore rejectFileStore, Long jobExecutionId) {
+        this.rejectFileStore = rejectFileStore;
+        this.jobExecutionId = jobExecutionId;
+    }
+
+    @Override
+    public synchronized void onSkipInRead(Throwable t) {
+        readRejects++;
+        if (t instanceof RejectedRowException rejected) {
+            append(rejected.getLineNumber(), "read", rejected.getMessage(),
+                    rejected.getSourceAmount(), rejected.getSourceCurrency(), rejected.getTargetCurrency(), null);
+        } else {
+            append(null, "read", t.getMessage(), null, null, null, null);
+        }
+    }
+
+    @Override
+    public void onSkipInProcess(ConversionRequest item, Throwable t) {
+        recordProcessReject(item, t.getMessage());
+    }
+
+    public synchronized void recordProcessReject(ConversionRequest item, String reason) {
+        processRejects++;
+        append(item instanceof CsvConversionRequest csvRequest ? csvRequest.getLineNumber() : null,
+                "process", reason,
+                item.getSourceAmount(), item.getSourceCurrency(), item.getTargetCurrency(), null);
+    }
+
+    @Override
+    public synchronized void onSkipInWrite(Object item, Throwable t) {
+        writeRejects++;
+        if (item instanceof ConversionResponse response) {
+            append(null, "write", t.getMessage(), response.getSourceAmount(), response.getSourceCurrency(),
+                    response.getTargetCurrency(), response.getTransactionId());
+        } else if (item instanceof ConversionRequest request) {
+            append(request instanceof CsvConversionRequest csvRequest ? csvRequest.getLineNumber() : null,
+                    "write", t.getMessage(), request.getSourceAmount(), request.getSourceCurrency(),
+                    request.getTargetCurrency(), null);
+        } else {
+            append(null, "write", t.getMessage(), null, null, null, null);
+        }
+    }
+
+    @Override
+    public synchronized ExitStatus afterStep(StepExecution stepExecution) {
+        if (printer != null) {
+            try {
+                printer.close(true);
+            } catch (IOException e) {
+                log.warn("Could not close reject file {}: {}", rejectFile, e.getMessage());
+            }
+            printer = null;
+        }
+
+        long total = readRejects + processRejects + writeRejects;
+        if (total > 0) {
+            log.warn("Rejected {} rows in job {} (read: {}, process: {}, write: {}), written to {}",
+                    total, jobExecutionId, readRejects, processRejects, writeRejects, rejectFile);
+        }
+        return null;
+    }
+
+    private void append(Long lineNumber, String stage, String reason, Object sourceAmount,
+                        String sourceCurrency, String targetCurrency, String transactionId) {
+        try {
+            if (printer == null) {
+                rejectFile = rejectFileStore.prepare(jobExecutionId);
+                boolean newFile = !Files.exists(rejectFile);
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(rejectFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), 64 * 1024);
+                printer = newFile
+                        ? CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build().print(writer)
+                        : CSVFormat.DEFAULT.print(writer);
+            }
+            printer.printRecord(lineNumber, stage, reason, sourceAmount, sourceCurrency, targetCurrency, transactionId);
+        } catch (IOException e) {
+            log.warn("Could not record rejected row for job {}: {}", jobExecutionId, e.getMessage());
+        }
+    }
+}
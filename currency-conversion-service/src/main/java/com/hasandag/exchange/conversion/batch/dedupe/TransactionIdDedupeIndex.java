@@ -0,0 +1,49 @@
+package com.hasandag.exchange.conversion.batch.dedupe;
+
+import java.util.HexFormat;
+import java.util.OptionalLong;
+
+public class TransactionIdDedupeIndex {
+
+    public static final String TRANSACTION_ID_PREFIX = "BATCH-";
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+    private static final int KEY_HEX_LENGTH = 16;
+
+    private final LongOpenHashSet seenInJob;
+    private final LongBloomFilter persisted;
+
+    public TransactionIdDedupeIndex(int expectedJobSize, LongBloomFilter persisted) {
+        this.seenInJob = new LongOpenHashSet(expectedJobSize);
+        this.persisted = persisted;
+    }
+
+    public boolean markSeen(long key) {
+        return seenInJob.add(key);
+    }
+
+    public boolean mightBePersisted(long key) {
+        return persisted != null && persisted.mightContain(key);
+    }
+
+    public int seenCount() {
+        return seenInJob.size();
+    }
+
+    public static String toTransactionId(long key) {
+        return TRANSACTION_ID_PREFIX + HEX.toHexDigits(key);
+    }
+
+    public static OptionalLong toKey(String transactionId) {
+        if (transactionId == null
+                || transactionId.length() != TRANSACTION_ID_PREFIX.length() + KEY_HEX_LENGTH
+                || !transactionId.startsWith(TRANSACTION_ID_PREFIX)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(HexFormat.fromHexDigitsToLong(transactionId, TRANSACTION_ID_PREFIX.length(), transactionId.length()));
+        } catch (IllegalArgumentException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
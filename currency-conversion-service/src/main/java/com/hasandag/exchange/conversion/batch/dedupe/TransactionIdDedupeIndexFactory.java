@@ -0,0 +1,73 @@
+package com.hasandag.exchange.conversion.batch.dedupe;
+
+import com.hasandag.exchange.conversion.model.TransactionIdView;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class TransactionIdDedupeIndexFactory {
+
+    private final CurrencyConversionPostgresRepository postgresRepository;
+    private final CurrencyConversionMongoRepository mongoRepository;
+    private final long preloadWindowMinutes;
+    private final double falsePositiveProbability;
+
+    public TransactionIdDedupeIndexFactory(CurrencyConversionPostgresRepository postgresRepository,
+                                           @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository,
+                                           @Value("${conversion.batch.dedupe.preload-window-minutes:1}") long preloadWindowMinutes,
+                                           @Value("${conversion.batch.dedupe.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.postgresRepository = postgresRepository;
+        this.mongoRepository = mongoRepository;
+        this.preloadWindowMinutes = preloadWindowMinutes;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public TransactionIdDedupeIndex create(int expectedSize) {
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(preloadWindowMinutes);
+        String prefix = TransactionIdDedupeIndex.TRANSACTION_ID_PREFIX;
+
+        LongBloomFilter persisted = null;
+        long preloaded = 0;
+        if (mongoRepository != null) {
+            long expected = mongoRepository.countByTransactionIdStartingWithAndTimestampGreaterThanEqual(prefix, since);
+            if (expected > 0) {
+                persisted = new LongBloomFilter(expected, falsePositiveProbability);
+                try (Stream<TransactionIdView> ids = mongoRepository.findByTransactionIdStartingWithAndTimestampGreaterThanEqual(prefix, since)) {
+                    preloaded = preload(persisted, ids::iterator);
+                }
+            }
+        } else {
+            List<TransactionIdView> ids = postgresRepository.findByTransactionIdStartingWithAndTimestampGreaterThanEqual(prefix, since);
+            if (!ids.isEmpty()) {
+                persisted = new LongBloomFilter(ids.size(), falsePositiveProbability);
+                preloaded = preload(persisted, ids);
+            }
+        }
+
+        log.debug("Initialized transaction dedupe index with {} persisted transaction IDs since {}", preloaded, since);
+        return new TransactionIdDedupeIndex(expectedSize, persisted);
+    }
+
+    private static long preload(LongBloomFilter filter, Iterable<TransactionIdView> ids) {
+        long count = 0;
+        for (TransactionIdView view : ids) {
+            OptionalLong key = TransactionIdDedupeIndex.toKey(view.getTransactionId());
+            if (key.isPresent()) {
+                filter.put(key.getAsLong());
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import java.util.List;
+
+public record ChunkReply(
+        Long stepExecutionId,
+        long sequence,
+        boolean successful,
+        int writeCount,
+        int filterCount,
+        List<SkippedItem> skippedItems,
+        String message
+) {
+
+    public static ChunkReply success(ChunkRequest request, int writeCount, int filterCount, List<SkippedItem> skippedItems) {
+        return new ChunkReply(request.stepExecutionId(), request.sequence(), true, writeCount, filterCount, skippedItems, null);
+    }
+
+    public static ChunkReply failure(ChunkRequest request, String message) {
+        return new ChunkReply(request.stepExecutionId(), request.sequence(), false, 0, 0, List.of(), message);
+    }
+
+    public int skipCount() {
+        return skippedItems == null ? 0 : skippedItems.size();
+    }
+
+    public record SkippedItem(int index, String reason) {
+    }
+}
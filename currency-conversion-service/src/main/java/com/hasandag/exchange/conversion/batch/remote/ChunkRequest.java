@@ -0,0 +1,13 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.dto.ConversionRequest;
+
+import java.util.List;
+
+public record ChunkRequest(
+        Long jobExecutionId,
+        Long stepExecutionId,
+        long sequence,
+        List<ConversionRequest> items
+) {
+}
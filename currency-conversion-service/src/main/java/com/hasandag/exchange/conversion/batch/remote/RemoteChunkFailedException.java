@@ -0,0 +1,12 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+public class RemoteChunkFailedException extends RuntimeException {
+
+    public RemoteChunkFailedException(String message) {
+        super(message);
+    }
+
+    public RemoteChunkFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "conversion.batch.remote-chunking.enabled", havingValue = "true")
+public class RemoteChunkReplyRegistry {
+
+    private final Map<String, CompletableFuture<ChunkReply>> pendingReplies = new ConcurrentHashMap<>();
+
+    public CompletableFuture<ChunkReply> register(Long stepExecutionId, long sequence) {
+        CompletableFuture<ChunkReply> reply = new CompletableFuture<>();
+        pendingReplies.put(key(stepExecutionId, sequence), reply);
+        return reply;
+    }
+
+    public void cancel(Long stepExecutionId, long sequence) {
+        CompletableFuture<ChunkReply> reply = pendingReplies.remove(key(stepExecutionId, sequence));
+        if (reply != null) {
+            reply.cancel(false);
+        }
+    }
+
+    public int pendingCount() {
+        return pendingReplies.size();
+    }
+
+    @KafkaListener(
+        topics = KafkaConstants.BATCH_CHUNK_REPLY_TOPIC,
+        groupId = "#{T(com.hasandag.exchange.common.constants.KafkaConstants).BATCH_MANAGER_GROUP_PREFIX}${conversion.instance-id:local}",
+        containerFactory = "chunkReplyListenerContainerFactory"
+    )
+    public void onReply(ChunkReply reply) {
+        CompletableFuture<ChunkReply> pending = pendingReplies.remove(key(reply.stepExecutionId(), reply.sequence()));
+        if (pending == null) {
+            log.trace("Ignoring reply for chunk {} of step {} owned by another manager",
+                    reply.sequence(), reply.stepExecutionId());
+            return;
+        }
+        pending.complete(reply);
+    }
+
+    private static String key(Long stepExecutionId, long sequence) {
+        return stepExecutionId + ":" + sequence;
+    }
+}
@@ -0,0 +1,156 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.common.dto.ConversionResponse;
+import com.hasandag.exchange.conversion.batch.ConversionItemProcessor;
+import com.hasandag.exchange.conversion.batch.ConversionItemWriter;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndex;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndexFactory;
+import com.hasandag.exchange.conversion.client.ExchangeRateFeignClient;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
+import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "conversion.batch.remote-chunking.worker-enabled", havingValue = "true")
+public class RemoteChunkWorker {
+
+    private final ExchangeRateFeignClient exchangeRateFeignClient;
+    private final CurrencyConversionPostgresRepository postgresRepository;
+    private final CurrencyConversionMongoRepository mongoRepository;
+    private final ConversionEventProducer conversionEventProducer;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionIdDedupeIndexFactory dedupeIndexFactory;
+    private final JobExplorer jobExplorer;
+    private final int expectedJobSize;
+    private final int publishRetryLimit;
+    private final Map<Long, TransactionIdDedupeIndex> dedupeIndexes = new ConcurrentHashMap<>();
+
+    public RemoteChunkWorker(ExchangeRateFeignClient exchangeRateFeignClient,
+                             CurrencyConversionPostgresRepository postgresRepository,
+                             @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository,
+                             @Autowired(required = false) ConversionEventProducer conversionEventProducer,
+                             KafkaTemplate<String, Object> kafkaTemplate,
+                             TransactionIdDedupeIndexFactory dedupeIndexFactory,
+                             JobExplorer jobExplorer,
+                             @Value("${conversion.batch.dedupe.expected-job-size:10000}") int expectedJobSize,
+                             @Value("${conversion.batch.event-publish.retry-limit:3}") int publishRetryLimit) {
+        this.exchangeRateFeignClient = exchangeRateFeignClient;
+        this.postgresRepository = postgresRepository;
+        this.mongoRepository = mongoRepository;
+        this.conversionEventProducer = conversionEventProducer;
+        this.kafkaTemplate = kafkaTemplate;
+        this.dedupeIndexFactory = dedupeIndexFactory;
+        this.jobExplorer = jobExplorer;
+        this.expectedJobSize = expectedJobSize;
+        this.publishRetryLimit = publishRetryLimit;
+    }
+
+    @KafkaListener(
+        topics = KafkaConstants.BATCH_CHUNK_REQUEST_TOPIC,
+        groupId = KafkaConstants.BATCH_WORKER_GROUP,
+        containerFactory = "chunkRequestListenerContainerFactory",
+        concurrency = "${conversion.batch.remote-chunking.worker-concurrency:2}"
+    )
+    public void onChunkRequest(ChunkRequest request) {
+        log.debug("Processing chunk {} of step {} with {} items",
+                request.sequence(), request.stepExecutionId(), request.items().size());
+
+        ChunkReply reply;
+        try {
+            reply = process(request);
+        } catch (Exception e) {
+            log.error("Failed to process chunk {} of step {}: {}",
+                    request.sequence(), request.stepExecutionId(), e.getMessage());
+            reply = ChunkReply.failure(request, e.getMessage());
+        }
+
+        kafkaTemplate.send(KafkaConstants.BATCH_CHUNK_REPLY_TOPIC, String.valueOf(request.stepExecutionId()), reply);
+    }
+
+    public void onJobFinished(JobExecution jobExecution) {
+        dedupeIndexes.remove(jobExecution.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${conversion.batch.remote-chunking.dedupe-eviction-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        for (Long jobExecutionId : dedupeIndexes.keySet()) {
+            JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+            if (jobExecution == null || !jobExecution.isRunning()) {
+                dedupeIndexes.remove(jobExecutionId);
+                log.debug("Evicted dedupe index of finished job {}", jobExecutionId);
+            }
+        }
+    }
+
+    int cachedDedupeIndexCount() {
+        return dedupeIndexes.size();
+    }
+
+    private ChunkReply process(ChunkRequest request) throws Exception {
+        TransactionIdDedupeIndex dedupeIndex = dedupeIndexes.computeIfAbsent(request.jobExecutionId(),
+                jobExecutionId -> dedupeIndexFactory.create(expectedJobSize));
+        ConversionItemProcessor processor = new ConversionItemProcessor(exchangeRateFeignClient, mongoRepository,
+                postgresRepository, dedupeIndex);
+
+        List<ConversionResponse> outputs = new ArrayList<>(request.items().size());
+        int filtered = 0;
+        List<ChunkReply.SkippedItem> skipped = new ArrayList<>();
+        for (int index = 0; index < request.items().size(); index++) {
+            ConversionRequest item = request.items().get(index);
+            try {
+                ConversionResponse response = processor.process(item);
+                if (response == null) {
+                    filtered++;
+                } else {
+                    outputs.add(response);
+                }
+            } catch (NullPointerException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.debug("Skipping item in chunk {} of step {}: {}",
+                        request.sequence(), request.stepExecutionId(), e.getMessage());
+                skipped.add(new ChunkReply.SkippedItem(index, e.getMessage()));
+            }
+        }
+
+        if (!outputs.isEmpty()) {
+            write(new ConversionItemWriter(mongoRepository, conversionEventProducer, request.jobExecutionId()), outputs);
+        }
+        return ChunkReply.success(request, outputs.size(), filtered, skipped);
+    }
+
+    private void write(ConversionItemWriter writer, List<ConversionResponse> outputs) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                writer.write(new Chunk<>(outputs));
+                return;
+            } catch (EventPublishException e) {
+                if (attempt >= publishRetryLimit) {
+                    throw e;
+                }
+                log.warn("Retrying event publish for remote chunk (attempt {} of {}): {}",
+                        attempt + 1, publishRetryLimit, e.getMessage());
+            }
+        }
+    }
+}
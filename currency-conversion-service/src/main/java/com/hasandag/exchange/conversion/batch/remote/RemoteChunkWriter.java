@@ -0,0 +1,183 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.conversion.batch.CsvConversionItemReader;
+import com.hasandag.exchange.conversion.batch.RejectedRowListener;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
+
+@Slf4j
+public class RemoteChunkWriter implements ItemWriter<ConversionRequest>, ItemStream, StepExecutionListener {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final RemoteChunkReplyRegistry replyRegistry;
+    private final IntSupplier readerPosition;
+    private final RejectedRowListener rejectedRowListener;
+    private final int maxInFlight;
+    private final long sendTimeoutMs;
+    private final long replyTimeoutMs;
+    private final int skipLimit;
+
+    private final Deque<PendingChunk> inFlight = new ArrayDeque<>();
+    private final List<String> failures = new ArrayList<>();
+
+    private StepExecution stepExecution;
+    private long sequence;
+    private long writeCount;
+    private long filterCount;
+    private long skipCount;
+    private int acknowledgedPosition;
+
+    public RemoteChunkWriter(KafkaTemplate<String, Object> kafkaTemplate,
+                             RemoteChunkReplyRegistry replyRegistry,
+                             IntSupplier readerPosition,
+                             RejectedRowListener rejectedRowListener,
+                             int maxInFlight,
+                             long sendTimeoutMs,
+                             long replyTimeoutMs,
+                             int skipLimit) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.replyRegistry = replyRegistry;
+        this.readerPosition = readerPosition;
+        this.rejectedRowListener = rejectedRowListener;
+        this.maxInFlight = maxInFlight;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.replyTimeoutMs = replyTimeoutMs;
+        this.skipLimit = skipLimit;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        acknowledgedPosition = CsvConversionItemReader.resumePosition(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT, acknowledgedPosition);
+    }
+
+    @Override
+    public void write(Chunk<? extends ConversionRequest> chunk) {
+        if (!failures.isEmpty()) {
+            throw new RemoteChunkFailedException("Remote chunk processing failed: " + failures.get(0));
+        }
+
+        long chunkSequence = ++sequence;
+        List<ConversionRequest> items = new ArrayList<>(chunk.getItems());
+        ChunkRequest request = new ChunkRequest(stepExecution.getJobExecutionId(), stepExecution.getId(),
+                chunkSequence, items);
+        CompletableFuture<ChunkReply> reply = replyRegistry.register(stepExecution.getId(), chunkSequence);
+
+        try {
+            kafkaTemplate.send(KafkaConstants.BATCH_CHUNK_REQUEST_TOPIC,
+                    stepExecution.getId() + "-" + chunkSequence, request)
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            replyRegistry.cancel(stepExecution.getId(), chunkSequence);
+            throw new EventPublishException("Interrupted while sending chunk " + chunkSequence, e);
+        } catch (Exception e) {
+            replyRegistry.cancel(stepExecution.getId(), chunkSequence);
+            throw new EventPublishException("Failed to send chunk " + chunkSequence + " to workers", e);
+        }
+
+        inFlight.add(new PendingChunk(chunkSequence, items, readerPosition.getAsInt(), reply));
+        log.debug("Sent chunk {} with {} items to remote workers, {} chunks in flight",
+                chunkSequence, chunk.size(), inFlight.size());
+
+        while (inFlight.size() >= maxInFlight) {
+            collect(inFlight.poll());
+        }
+        if (!failures.isEmpty()) {
+            throw new RemoteChunkFailedException("Remote chunk processing failed: " + failures.get(0));
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        while (!inFlight.isEmpty()) {
+            collect(inFlight.poll());
+        }
+
+        stepExecution.getExecutionContext().putInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT, acknowledgedPosition);
+        stepExecution.setWriteCount(writeCount);
+        stepExecution.setFilterCount(stepExecution.getFilterCount() + filterCount);
+        stepExecution.setProcessSkipCount(stepExecution.getProcessSkipCount() + skipCount);
+        log.info("Remote chunking finished after {} chunks - written: {}, filtered: {}, skipped: {}, failed chunks: {}",
+                sequence, writeCount, filterCount, skipCount, failures.size());
+
+        if (!failures.isEmpty() || skipCount > skipLimit) {
+            String description = failures.isEmpty()
+                    ? "Remote skip count " + skipCount + " exceeded skip limit " + skipLimit
+                    : String.join("; ", failures);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            return ExitStatus.FAILED.addExitDescription(description);
+        }
+        return null;
+    }
+
+    private void collect(PendingChunk pending) {
+        try {
+            ChunkReply reply = pending.reply().get(replyTimeoutMs, TimeUnit.MILLISECONDS);
+            if (reply.successful()) {
+                writeCount += reply.writeCount();
+                filterCount += reply.filterCount();
+                skipCount += reply.skipCount();
+                recordSkips(pending, reply);
+                if (failures.isEmpty()) {
+                    acknowledgedPosition = pending.readerPosition();
+                }
+            } else {
+                failures.add("chunk " + pending.sequence() + ": " + reply.message());
+            }
+        } catch (TimeoutException e) {
+            replyRegistry.cancel(stepExecution.getId(), pending.sequence());
+            failures.add("chunk " + pending.sequence() + ": no reply within " + replyTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            replyRegistry.cancel(stepExecution.getId(), pending.sequence());
+            failures.add("chunk " + pending.sequence() + ": interrupted while waiting for reply");
+        } catch (Exception e) {
+            failures.add("chunk " + pending.sequence() + ": " + e.getMessage());
+        }
+    }
+
+    private void recordSkips(PendingChunk pending, ChunkReply reply) {
+        if (rejectedRowListener == null || reply.skippedItems() == null) {
+            return;
+        }
+        for (ChunkReply.SkippedItem skipped : reply.skippedItems()) {
+            if (skipped.index() >= 0 && skipped.index() < pending.items().size()) {
+                rejectedRowListener.recordProcessReject(pending.items().get(skipped.index()), skipped.reason());
+            }
+        }
+    }
+
+    private record PendingChunk(long sequence, List<ConversionRequest> items, int readerPosition,
+                                CompletableFuture<ChunkReply> reply) {
+    }
+}
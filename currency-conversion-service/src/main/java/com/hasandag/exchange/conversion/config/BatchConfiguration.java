@@ -2,17 +2,31 @@ package com.hasandag.exchange.conversion.config;
 
 import com.hasandag.exchange.common.dto.ConversionRequest;
 import com.hasandag.exchange.common.dto.ConversionResponse;
+import com.hasandag.exchange.conversion.batch.AdaptiveChunkSizePolicy;
+import com.hasandag.exchange.conversion.batch.BatchJobProgressBroadcaster;
 import com.hasandag.exchange.conversion.batch.ConversionItemProcessor;
 import com.hasandag.exchange.conversion.batch.ConversionItemWriter;
 import com.hasandag.exchange.conversion.batch.CsvConversionItemReader;
 import com.hasandag.exchange.conversion.batch.JobCompletionNotificationListener;
+import com.hasandag.exchange.conversion.batch.RejectFileStore;
+import com.hasandag.exchange.conversion.batch.RejectedRowListener;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndex;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndexFactory;
+import com.hasandag.exchange.conversion.batch.remote.RemoteChunkFailedException;
+import com.hasandag.exchange.conversion.batch.remote.RemoteChunkReplyRegistry;
+import com.hasandag.exchange.conversion.batch.remote.RemoteChunkWriter;
 import com.hasandag.exchange.conversion.client.ExchangeRateFeignClient;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
 import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
 import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
 import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
@@ -23,12 +37,15 @@ import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+
 @Configuration
 @Slf4j
 public class BatchConfiguration {
@@ -59,16 +76,21 @@ public class BatchConfiguration {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "conversion.batch.remote-chunking.enabled", havingValue = "false", matchIfMissing = true)
     public Step conversionStep(JobRepository jobRepository, 
                               PlatformTransactionManager transactionManager,
                               ItemReader<ConversionRequest> reader,
                               ItemProcessor<ConversionRequest, ConversionResponse> processor,
                               ItemWriter<ConversionResponse> writer,
+                              AdaptiveChunkSizePolicy chunkSizePolicy,
+                              RejectedRowListener rejectedRowListener,
+                              BatchJobProgressBroadcaster progressBroadcaster,
+                              JobCompletionNotificationListener jobCompletionListener,
                               @Qualifier("taskExecutor") TaskExecutor taskExecutor,
-                              @Value("${conversion.batch.chunk-size:100}") int chunkSize,
-                              @Value("${conversion.batch.skip-limit:1000}") int skipLimit) {
+                              @Value("${conversion.batch.skip-limit:1000}") int skipLimit,
+                              @Value("${conversion.batch.event-publish.retry-limit:3}") int publishRetryLimit) {
         return new StepBuilder("conversionStep", jobRepository)
-                .<ConversionRequest, ConversionResponse>chunk(chunkSize, transactionManager)
+                .<ConversionRequest, ConversionResponse>chunk(chunkSizePolicy, transactionManager)
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
@@ -78,10 +100,69 @@ public class BatchConfiguration {
                 .skip(NumberFormatException.class)
                 .skip(RuntimeException.class)
                 .noSkip(NullPointerException.class)
+                .noSkip(EventPublishException.class)
+                .retry(EventPublishException.class)
+                .retryLimit(publishRetryLimit)
+                .processorNonTransactional()
+                .listener((StepExecutionListener) chunkSizePolicy)
+                .listener((ChunkListener) chunkSizePolicy)
+                .listener((SkipListener<ConversionRequest, Object>) rejectedRowListener)
+                .listener((StepExecutionListener) rejectedRowListener)
+                .listener((StepExecutionListener) progressBroadcaster)
+                .listener((ChunkListener) progressBroadcaster)
+                .listener((StepExecutionListener) jobCompletionListener)
                 .taskExecutor(taskExecutor)
                 .build();
     }
 
+    @Bean(name = "conversionStep")
+    @ConditionalOnProperty(name = "conversion.batch.remote-chunking.enabled", havingValue = "true")
+    public Step remoteConversionStep(JobRepository jobRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ItemReader<ConversionRequest> reader,
+                                     RemoteChunkWriter remoteChunkWriter,
+                                     RejectedRowListener rejectedRowListener,
+                                     BatchJobProgressBroadcaster progressBroadcaster,
+                                     JobCompletionNotificationListener jobCompletionListener,
+                                     @Value("${conversion.batch.chunk-size:100}") int chunkSize,
+                                     @Value("${conversion.batch.skip-limit:1000}") int skipLimit,
+                                     @Value("${conversion.batch.event-publish.retry-limit:3}") int publishRetryLimit) {
+        return new StepBuilder("conversionStep", jobRepository)
+                .<ConversionRequest, ConversionRequest>chunk(chunkSize, transactionManager)
+                .reader(reader)
+                .writer(remoteChunkWriter)
+                .faultTolerant()
+                .skipLimit(skipLimit)
+                .skip(IllegalArgumentException.class)
+                .noSkip(RemoteChunkFailedException.class)
+                .noSkip(EventPublishException.class)
+                .retry(EventPublishException.class)
+                .retryLimit(publishRetryLimit)
+                .listener((SkipListener<ConversionRequest, Object>) rejectedRowListener)
+                .listener((StepExecutionListener) rejectedRowListener)
+                .listener((StepExecutionListener) progressBroadcaster)
+                .listener((ChunkListener) progressBroadcaster)
+                .listener((StepExecutionListener) jobCompletionListener)
+                .listener((StepExecutionListener) remoteChunkWriter)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    @ConditionalOnProperty(name = "conversion.batch.remote-chunking.enabled", havingValue = "true")
+    public RemoteChunkWriter remoteChunkWriter(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            RemoteChunkReplyRegistry replyRegistry,
+            CsvConversionItemReader csvItemReader,
+            RejectedRowListener rejectedRowListener,
+            @Value("${conversion.batch.remote-chunking.max-in-flight:8}") int maxInFlight,
+            @Value("${conversion.batch.event-publish.ack-timeout-ms:30000}") long sendTimeoutMs,
+            @Value("${conversion.batch.remote-chunking.reply-timeout-ms:300000}") long replyTimeoutMs,
+            @Value("${conversion.batch.skip-limit:1000}") int skipLimit) {
+        return new RemoteChunkWriter(kafkaTemplate, replyRegistry, csvItemReader::getCurrentItemCount, rejectedRowListener,
+                maxInFlight, sendTimeoutMs, replyTimeoutMs, skipLimit);
+    }
+
     @Bean
     public TaskExecutor taskExecutor(
             @Value("${conversion.batch.task-executor.core-pool-size:2}") int corePoolSize,
@@ -99,17 +180,48 @@ public class BatchConfiguration {
     }
 
     @Bean
-    public ItemReader<ConversionRequest> csvItemReader() {
+    @StepScope
+    public CsvConversionItemReader csvItemReader() {
         return new CsvConversionItemReader();
     }
 
     @Bean
-    public ItemProcessor<ConversionRequest, ConversionResponse> conversionItemProcessor() {
-        return new ConversionItemProcessor(exchangeRateFeignClient, mongoRepository, postgresRepository);
+    public ItemProcessor<ConversionRequest, ConversionResponse> conversionItemProcessor(TransactionIdDedupeIndex transactionIdDedupeIndex) {
+        return new ConversionItemProcessor(exchangeRateFeignClient, mongoRepository, postgresRepository, transactionIdDedupeIndex);
+    }
+
+    @Bean
+    @StepScope
+    public TransactionIdDedupeIndex transactionIdDedupeIndex(
+            TransactionIdDedupeIndexFactory dedupeIndexFactory,
+            @Value("${conversion.batch.dedupe.expected-job-size:10000}") int expectedJobSize) {
+        return dedupeIndexFactory.create(expectedJobSize);
+    }
+
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy adaptiveChunkSizePolicy(
+            @Value("${conversion.batch.chunk-size:100}") int chunkSize,
+            @Value("${conversion.batch.adaptive-chunk.enabled:true}") boolean enabled,
+            @Value("${conversion.batch.adaptive-chunk.min-size:20}") int minSize,
+            @Value("${conversion.batch.adaptive-chunk.max-size:1000}") int maxSize,
+            @Value("${conversion.batch.adaptive-chunk.target-commit-ms:1000}") long targetCommitMs) {
+        if (!enabled) {
+            return new AdaptiveChunkSizePolicy(chunkSize, chunkSize, chunkSize, targetCommitMs);
+        }
+        return new AdaptiveChunkSizePolicy(chunkSize, minSize, maxSize, targetCommitMs);
+    }
+
+    @Bean
+    @StepScope
+    public RejectedRowListener rejectedRowListener(RejectFileStore rejectFileStore,
+                                                   @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId) {
+        return new RejectedRowListener(rejectFileStore, jobExecutionId);
     }
 
     @Bean
-    public ItemWriter<ConversionResponse> conversionItemWriter() {
-        return new ConversionItemWriter(mongoRepository, conversionEventProducer);
+    @StepScope
+    public ItemWriter<ConversionResponse> conversionItemWriter(@Value("#{stepExecution.jobExecutionId}") Long jobExecutionId) {
+        return new ConversionItemWriter(mongoRepository, conversionEventProducer, jobExecutionId);
     }
 } 
\ No newline at end of file
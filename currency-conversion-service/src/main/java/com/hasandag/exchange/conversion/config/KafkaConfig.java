@@ -1,10 +1,13 @@
 package com.hasandag.exchange.conversion.config;
 
 import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.serialization.ConversionBinaryDeserializer;
+import com.hasandag.exchange.common.serialization.ConversionBinarySerializer;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,17 +17,23 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Configuration
 @ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
 public class KafkaConfig {
 
+    private static final String WIRE_FORMAT_BINARY = "binary";
+
     private final String bootstrapServers;
 
     public KafkaConfig(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
@@ -71,22 +80,59 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    @ConditionalOnProperty(name = "kafka.admin.enabled", havingValue = "true", matchIfMissing = true)
+    public NewTopic batchChunkRequestTopic(
+            @Value("${kafka.topics.batch-chunk-request.partitions:6}") int partitions,
+            @Value("${kafka.topics.batch-chunk-request.replicas:1}") int replicas) {
+        return TopicBuilder.name(KafkaConstants.BATCH_CHUNK_REQUEST_TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "kafka.admin.enabled", havingValue = "true", matchIfMissing = true)
+    public NewTopic batchChunkReplyTopic(
+            @Value("${kafka.topics.batch-chunk-reply.partitions:3}") int partitions,
+            @Value("${kafka.topics.batch-chunk-reply.replicas:1}") int replicas) {
+        return TopicBuilder.name(KafkaConstants.BATCH_CHUNK_REPLY_TOPIC)
+                .partitions(partitions)
+                .replicas(replicas)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory(
+            @Value("${kafka.topics.conversion-command.format:json}") String commandFormat,
+            @Value("${kafka.topics.conversion-event.format:json}") String eventFormat) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
         configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 10000);
         configProps.put(ProducerConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 10000);
         configProps.put(ProducerConfig.RECONNECT_BACKOFF_MS_CONFIG, 1000);
         configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
-        return new DefaultKafkaProducerFactory<>(configProps);
+
+        Map<Pattern, Serializer<?>> binaryTopics = new LinkedHashMap<>();
+        if (WIRE_FORMAT_BINARY.equals(commandFormat)) {
+            binaryTopics.put(topicFamily(KafkaConstants.CONVERSION_COMMAND_TOPIC), new ConversionBinarySerializer());
+        }
+        if (WIRE_FORMAT_BINARY.equals(eventFormat)) {
+            binaryTopics.put(topicFamily(KafkaConstants.CONVERSION_EVENT_TOPIC), new ConversionBinarySerializer());
+        }
+        Serializer<Object> valueSerializer = binaryTopics.isEmpty()
+                ? new JsonSerializer<>()
+                : new DelegatingByTopicSerializer(binaryTopics, new JsonSerializer<>());
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), valueSerializer);
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    private static Pattern topicFamily(String topic) {
+        return Pattern.compile(Pattern.quote(topic) + "(-.+)?");
     }
 
     @Bean
@@ -97,7 +143,7 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ConversionBinaryDeserializer.class);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.hasandag.exchange.common.dto.cqrs.*");
         configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.hasandag.exchange.common.dto.cqrs.ConversionCommand");
@@ -125,7 +171,7 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, ConversionBinaryDeserializer.class);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.hasandag.exchange.common.dto.cqrs.*, com.hasandag.exchange.common.dto.*");
         configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.hasandag.exchange.common.dto.cqrs.ConversionEvent");
@@ -151,4 +197,55 @@ public class KafkaConfig {
         factory.setConsumerFactory(conversionEventConsumerFactory());
         return factory;
     }
-} 
\ No newline at end of file
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> eventBatchListenerContainerFactory(
+            @Value("${conversion.read-model.batch-listener.max-poll-records:500}") int maxPollRecords) {
+        Map<String, Object> configProps = new HashMap<>(conversionEventConsumerFactory().getConfigurationProperties());
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configProps));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> chunkRequestListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(chunkConsumerFactory(KafkaConstants.BATCH_WORKER_GROUP,
+                "com.hasandag.exchange.conversion.batch.remote.ChunkRequest"));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> chunkReplyListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(chunkConsumerFactory(null,
+                "com.hasandag.exchange.conversion.batch.remote.ChunkReply"));
+        return factory;
+    }
+
+    private ConsumerFactory<String, Object> chunkConsumerFactory(String groupId, String valueType) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        if (groupId != null) {
+            configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        }
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.hasandag.exchange.conversion.batch.remote, com.hasandag.exchange.common.dto");
+        configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, valueType);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, groupId != null ? "earliest" : "latest");
+        configProps.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
+        configProps.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, 10000);
+        configProps.put(ConsumerConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, 10000);
+        configProps.put(ConsumerConfig.RECONNECT_BACKOFF_MS_CONFIG, 1000);
+        configProps.put(ConsumerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hasandag.exchange.conversion.config;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionCommand;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.kafka.parallel.KeyOrderedDispatcher;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+@Configuration
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class ParallelConsumerConfig {
+
+    private final int lanes;
+    private final int laneCapacity;
+    private final int maxPollRecords;
+    private final long commitIntervalMs;
+    private final long drainTimeoutMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    public ParallelConsumerConfig(
+            @Value("${conversion.kafka.parallel.lanes:16}") int lanes,
+            @Value("${conversion.kafka.parallel.lane-capacity:500}") int laneCapacity,
+            @Value("${conversion.kafka.parallel.max-poll-records:500}") int maxPollRecords,
+            @Value("${conversion.kafka.parallel.commit-interval-ms:1000}") long commitIntervalMs,
+            @Value("${conversion.kafka.parallel.drain-timeout-ms:10000}") long drainTimeoutMs,
+            @Value("${conversion.kafka.parallel.max-attempts:1}") int maxAttempts,
+            @Value("${conversion.kafka.parallel.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.lanes = lanes;
+        this.laneCapacity = laneCapacity;
+        this.maxPollRecords = maxPollRecords;
+        this.commitIntervalMs = commitIntervalMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @Bean
+    public KeyOrderedDispatcher<ConversionEvent> conversionEventDispatcher() {
+        return dispatcher("event-dispatcher",
+                event -> event.getTransactionId() != null ? event.getTransactionId() : event.getCommandId());
+    }
+
+    @Bean
+    public KeyOrderedDispatcher<ConversionCommand> conversionCommandDispatcher() {
+        return dispatcher("command-dispatcher", ConversionCommand::getCommandId);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> parallelEventListenerContainerFactory(
+            @Qualifier("conversionEventConsumerFactory") ConsumerFactory<String, Object> consumerFactory) {
+        return parallelFactory(consumerFactory, conversionEventDispatcher());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> parallelCommandListenerContainerFactory(
+            @Qualifier("conversionCommandConsumerFactory") ConsumerFactory<String, Object> consumerFactory) {
+        return parallelFactory(consumerFactory, conversionCommandDispatcher());
+    }
+
+    private <V> KeyOrderedDispatcher<V> dispatcher(String name, Function<V, String> keyExtractor) {
+        return new KeyOrderedDispatcher<>(name, keyExtractor, lanes, laneCapacity, maxAttempts, retryBackoffMs, drainTimeoutMs);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Object> parallelFactory(
+            ConsumerFactory<String, Object> consumerFactory, KeyOrderedDispatcher<?> dispatcher) {
+        Map<String, Object> configProps = new HashMap<>(consumerFactory.getConfigurationProperties());
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configProps));
+        factory.setBatchListener(true);
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setIdleEventInterval(commitIntervalMs);
+        containerProperties.setConsumerRebalanceListener(dispatcher);
+        return factory;
+    }
+}
@@ -1,19 +1,30 @@
 package com.hasandag.exchange.conversion.controller;
 
+import com.hasandag.exchange.conversion.batch.BatchJobProgressBroadcaster;
+import com.hasandag.exchange.conversion.model.ExportFormat;
+import com.hasandag.exchange.conversion.service.BatchJobResultService;
 import com.hasandag.exchange.conversion.service.BatchJobService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.Map;
 
 @RestController
@@ -22,13 +33,22 @@ import java.util.Map;
 @Slf4j
 public class CurrencyConversionBatchJobController {
 
-    private final JobLauncher jobLauncher;
     private final Job bulkConversionJob;
     private final BatchJobService batchJobService;
+    private final BatchJobResultService batchJobResultService;
+    private final BatchJobProgressBroadcaster progressBroadcaster;
 
     @PostMapping("/conversions")
-    public ResponseEntity<Map<String, Object>> startBulkConversionJob(@RequestParam("file") MultipartFile file) {
-        Map<String, Object> response = batchJobService.processFileUploadAndStartJob(file, jobLauncher, bulkConversionJob);
+    public ResponseEntity<Map<String, Object>> startBulkConversionJob(@RequestParam("file") MultipartFile file,
+                                                                      @RequestHeader(value = "X-Client-Id", required = false) String clientId,
+                                                                      HttpServletRequest request) {
+        String submitter = resolveSubmitter(clientId, request);
+        String contentEncoding = null;
+        if (request instanceof MultipartHttpServletRequest multipartRequest) {
+            HttpHeaders partHeaders = multipartRequest.getMultipartHeaders("file");
+            contentEncoding = partHeaders != null ? partHeaders.getFirst(HttpHeaders.CONTENT_ENCODING) : null;
+        }
+        Map<String, Object> response = batchJobService.processFileUploadAndStartJob(file, contentEncoding, submitter, bulkConversionJob);
         
         if (response.containsKey("error")) {
             Integer httpStatus = (Integer) response.get("httpStatus");
@@ -39,7 +59,7 @@ public class CurrencyConversionBatchJobController {
             return ResponseEntity.badRequest().body(response);
         }
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.accepted().body(response);
     }
 
     @GetMapping("/conversions/{jobId}/status")
@@ -57,6 +77,48 @@ public class CurrencyConversionBatchJobController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(path = "/conversions/{jobId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobProgress(@PathVariable Long jobId) throws IOException {
+        if (progressBroadcaster.isTracked(jobId)) {
+            return ResponseEntity.ok(progressBroadcaster.subscribe(jobId));
+        }
+
+        Map<String, Object> status = batchJobService.getJobStatus(jobId);
+        if (status.containsKey("error") && "Job not found".equals(status.get("error"))) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().name("status").data(status));
+        emitter.complete();
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/conversions/{jobId}/results")
+    public ResponseEntity<StreamingResponseBody> getJobResults(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat resultFormat = batchJobResultService.resolveFormat(format);
+        StreamingResponseBody body = batchJobResultService.streamJobResults(jobId, resultFormat);
+
+        return ResponseEntity.ok()
+                .contentType(resultFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"job-" + jobId + "-results." + resultFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/conversions/{jobId}/rejects")
+    public ResponseEntity<Resource> getRejectedRows(@PathVariable Long jobId) {
+        Resource rejects = batchJobResultService.getRejectedRows(jobId);
+
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.CSV.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"job-" + jobId + "-rejects.csv\"")
+                .body(rejects);
+    }
+
     @GetMapping("/conversions/jobs")
     public ResponseEntity<Map<String, Object>> getAllJobs() {
         Map<String, Object> response = batchJobService.getAllJobs();
@@ -116,22 +178,14 @@ public class CurrencyConversionBatchJobController {
         Map<String, Object> response = new java.util.HashMap<>();
         
         try {
-            Map<String, Object> runningJobsResponse = batchJobService.getRunningJobs();
-            int runningCount = 0;
-            if (!runningJobsResponse.containsKey("error")) {
-                runningCount = (Integer) runningJobsResponse.get("count");
-            }
-            
-            Map<String, Object> statsResponse = batchJobService.getJobStatistics();
+            Map<String, Object> healthSummary = batchJobService.getHealthSummary();
             
             response.put("status", "UP");
-            response.put("runningJobs", runningCount);
+            response.put("runningJobs", healthSummary.get("runningJobs"));
+            response.put("queuedJobs", healthSummary.get("queuedJobs"));
+            response.put("totalJobTypes", healthSummary.get("totalJobTypes"));
             response.put("timestamp", java.time.Instant.now());
             
-            if (!statsResponse.containsKey("error")) {
-                response.put("totalJobTypes", statsResponse.get("totalJobTypes"));
-            }
-            
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -142,4 +196,15 @@ public class CurrencyConversionBatchJobController {
             return ResponseEntity.status(503).body(response);
         }
     }
-} 
\ No newline at end of file
+
+    private static String resolveSubmitter(String clientId, HttpServletRequest request) {
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId.trim();
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -2,15 +2,22 @@ package com.hasandag.exchange.conversion.controller;
 
 import com.hasandag.exchange.common.dto.ConversionRequest;
 import com.hasandag.exchange.common.dto.ConversionResponse;
+import com.hasandag.exchange.conversion.model.ConversionHistorySlice;
 import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.model.CurrencyPairVolumeStats;
+import com.hasandag.exchange.conversion.model.ExportFormat;
 import com.hasandag.exchange.conversion.service.ConversionCommandService;
+import com.hasandag.exchange.conversion.service.ConversionExportService;
 import com.hasandag.exchange.conversion.service.ConversionQueryService;
+import com.hasandag.exchange.conversion.service.ConversionStatsService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 
@@ -20,11 +27,17 @@ public class CurrencyConversionController {
 
     private final ConversionCommandService commandService;
     private final ConversionQueryService queryService;
+    private final ConversionExportService exportService;
+    private final ConversionStatsService statsService;
 
     public CurrencyConversionController(ConversionCommandService commandService, 
-                                        ConversionQueryService queryService) {
+                                        ConversionQueryService queryService,
+                                        ConversionExportService exportService,
+                                        ConversionStatsService statsService) {
         this.commandService = commandService;
         this.queryService = queryService;
+        this.exportService = exportService;
+        this.statsService = statsService;
     }
 
     @PostMapping
@@ -45,5 +58,43 @@ public class CurrencyConversionController {
 
         return ResponseEntity.ok(history);
     }
+
+    @GetMapping("/history/cursor")
+    public ResponseEntity<ConversionHistorySlice> getConversionHistoryByCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "none") String count) {
+
+        ConversionHistorySlice history = queryService.findConversionsByCursor(startDate, endDate, cursor, size, count);
+
+        return ResponseEntity.ok(history);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportConversions(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = exportService.resolveFormat(format);
+        StreamingResponseBody body = exportService.streamConversions(startDate, endDate, exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"conversions-" + startDate + "-" + endDate + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CurrencyPairVolumeStats> getVolumeStats(
+            @RequestParam(required = false) String pair,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return ResponseEntity.ok(statsService.getVolumeStats(pair, granularity, from, to));
+    }
     
 } 
\ No newline at end of file
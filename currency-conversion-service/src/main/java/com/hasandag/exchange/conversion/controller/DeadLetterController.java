@@ -0,0 +1,35 @@
+package com.hasandag.exchange.conversion.controller;
+
+import com.hasandag.exchange.conversion.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/dlt")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadLetterController {
+
+    private final DeadLetterReplayService replayService;
+
+    @PostMapping("/{stream}/replay")
+    public ResponseEntity<Map<String, Object>> replay(@PathVariable String stream,
+                                                      @RequestParam(required = false) Integer maxRecords) {
+        Map<String, Object> response = replayService.replay(stream, maxRecords);
+
+        if (response.containsKey("error")) {
+            Integer httpStatus = (Integer) response.remove("httpStatus");
+            return ResponseEntity.status(httpStatus != null ? httpStatus : 500).body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+}
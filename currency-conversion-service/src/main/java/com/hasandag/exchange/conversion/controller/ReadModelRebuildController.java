@@ -0,0 +1,45 @@
+package com.hasandag.exchange.conversion.controller;
+
+import com.hasandag.exchange.conversion.service.ReadModelRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/read-model")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadModelRebuildController {
+
+    private final ReadModelRebuildService rebuildService;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> startRebuild() {
+        Map<String, Object> response = rebuildService.startRebuild();
+
+        if (response.containsKey("error")) {
+            Integer httpStatus = (Integer) response.remove("httpStatus");
+            return ResponseEntity.status(httpStatus != null ? httpStatus : 500).body(response);
+        }
+
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> getRebuildStatus() {
+        Map<String, Object> response = rebuildService.getStatus();
+
+        if (response.containsKey("error")) {
+            Integer httpStatus = (Integer) response.remove("httpStatus");
+            return ResponseEntity.status(httpStatus != null ? httpStatus : 500).body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -5,43 +5,78 @@ import com.hasandag.exchange.common.dto.cqrs.ConversionCommand;
 import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
 import com.hasandag.exchange.common.dto.ExchangeRateResponse;
 import com.hasandag.exchange.conversion.client.ExchangeRateFeignClient;
+import com.hasandag.exchange.conversion.kafka.parallel.KeyOrderedDispatcher;
+import com.hasandag.exchange.conversion.kafka.retry.DeadLetterRouter;
 import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
 import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @ConditionalOnProperty(name = "cqrs.command-handler.enabled", havingValue = "true", matchIfMissing = false)
 public class ConversionCommandHandler {
     
+    public static final String RECORD_LISTENER_ID = "conversionCommandRecordListener";
+    
     private static final Logger logger = LoggerFactory.getLogger(ConversionCommandHandler.class);
     
     private final ExchangeRateFeignClient exchangeRateClient;
     private final CurrencyConversionMongoRepository repository;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KeyOrderedDispatcher<ConversionCommand> commandDispatcher;
+    private final DeadLetterRouter deadLetterRouter;
     
     public ConversionCommandHandler(ExchangeRateFeignClient exchangeRateClient,
                                   CurrencyConversionMongoRepository repository,
-                                  KafkaTemplate<String, Object> kafkaTemplate) {
+                                  KafkaTemplate<String, Object> kafkaTemplate,
+                                  KeyOrderedDispatcher<ConversionCommand> commandDispatcher,
+                                  DeadLetterRouter deadLetterRouter) {
         this.exchangeRateClient = exchangeRateClient;
         this.repository = repository;
         this.kafkaTemplate = kafkaTemplate;
+        this.commandDispatcher = commandDispatcher;
+        this.deadLetterRouter = deadLetterRouter;
     }
     
+    @RetryableTopic(
+        attempts = "${conversion.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${conversion.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${conversion.kafka.retry.multiplier:2.0}",
+            maxDelayExpression = "${conversion.kafka.retry.max-delay-ms:30000}"),
+        exclude = IllegalArgumentException.class,
+        traversingCauses = "true",
+        kafkaTemplate = "kafkaTemplate",
+        autoCreateTopics = "${kafka.admin.enabled:true}",
+        numPartitions = "${kafka.topics.conversion-command.partitions:3}",
+        replicationFactor = "${kafka.topics.conversion-command.replicas:1}",
+        dltStrategy = DltStrategy.FAIL_ON_ERROR
+    )
     @KafkaListener(
+        id = RECORD_LISTENER_ID,
         topics = KafkaConstants.CONVERSION_COMMAND_TOPIC,
         groupId = KafkaConstants.COMMAND_HANDLER_GROUP,
-        containerFactory = "conversionCommandListenerContainerFactory"
+        containerFactory = "conversionCommandListenerContainerFactory",
+        autoStartup = "#{'${cqrs.command-handler.listener-mode:record}' == 'record'}"
     )
     @Transactional
     public void handleConversionCommand(ConversionCommand command) {
@@ -93,12 +128,29 @@ public class ConversionCommandHandler {
             
         } catch (Exception e) {
             logger.error("Error processing conversion command: {}", command.getCommandId(), e);
-            
-            publishFailureEvent(command, e.getMessage());
             throw e;
         }
     }
     
+    @DltHandler
+    public void handleDeadLetter(ConversionCommand command,
+                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                 @Header(name = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String errorMessage) {
+        logger.error("Conversion command {} parked in {}: {}", command.getCommandId(), topic, errorMessage);
+        publishFailureEvent(command, errorMessage);
+    }
+    
+    @KafkaListener(
+        topics = KafkaConstants.CONVERSION_COMMAND_TOPIC,
+        groupId = KafkaConstants.COMMAND_HANDLER_GROUP,
+        containerFactory = "parallelCommandListenerContainerFactory",
+        autoStartup = "#{'${cqrs.command-handler.listener-mode:record}' == 'parallel'}"
+    )
+    public void handleConversionCommandsInParallel(List<ConsumerRecord<String, ConversionCommand>> records, Consumer<?, ?> consumer) {
+        commandDispatcher.dispatch(records, consumer, this::handleConversionCommand,
+                (record, exception) -> deadLetterRouter.route(RECORD_LISTENER_ID, record, exception));
+    }
+    
     private void validateCommand(ConversionCommand command) {
         if (command.getSourceCurrency() == null || command.getSourceCurrency().trim().isEmpty()) {
             throw new IllegalArgumentException("Source currency is required");
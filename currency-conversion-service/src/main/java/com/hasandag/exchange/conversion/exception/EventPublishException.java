@@ -0,0 +1,13 @@
+package com.hasandag.exchange.conversion.exception;
+
+public class EventPublishException extends RuntimeException {
+
+    public EventPublishException(String message) {
+        super(message);
+    }
+
+    public EventPublishException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
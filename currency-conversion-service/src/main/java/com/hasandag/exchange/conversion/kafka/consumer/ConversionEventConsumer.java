@@ -2,58 +2,190 @@ package com.hasandag.exchange.conversion.kafka.consumer;
 
 import com.hasandag.exchange.common.constants.KafkaConstants;
 import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.kafka.parallel.KeyOrderedDispatcher;
+import com.hasandag.exchange.conversion.kafka.retry.DeadLetterRouter;
 import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
 import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
-import lombok.RequiredArgsConstructor;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import com.hasandag.exchange.conversion.service.ConversionLookupCache;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
 public class ConversionEventConsumer {
 
+    public static final String RECORD_LISTENER_ID = "conversionEventRecordListener";
+
     private final CurrencyConversionPostgresRepository postgresConversionRepository;
+    private final KeyOrderedDispatcher<ConversionEvent> conversionEventDispatcher;
+    private final DeadLetterRouter deadLetterRouter;
+    private final CurrencyPairVolumeRollupRepository rollupRepository;
+    private final ConversionLookupCache lookupCache;
+    private final TransactionTemplate transactionTemplate;
 
+    public ConversionEventConsumer(CurrencyConversionPostgresRepository postgresConversionRepository,
+                                   KeyOrderedDispatcher<ConversionEvent> conversionEventDispatcher,
+                                   DeadLetterRouter deadLetterRouter,
+                                   CurrencyPairVolumeRollupRepository rollupRepository,
+                                   ConversionLookupCache lookupCache,
+                                   PlatformTransactionManager transactionManager) {
+        this.postgresConversionRepository = postgresConversionRepository;
+        this.conversionEventDispatcher = conversionEventDispatcher;
+        this.deadLetterRouter = deadLetterRouter;
+        this.rollupRepository = rollupRepository;
+        this.lookupCache = lookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @RetryableTopic(
+        attempts = "${conversion.kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${conversion.kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${conversion.kafka.retry.multiplier:2.0}",
+            maxDelayExpression = "${conversion.kafka.retry.max-delay-ms:30000}"),
+        kafkaTemplate = "kafkaTemplate",
+        autoCreateTopics = "${kafka.admin.enabled:true}",
+        numPartitions = "${kafka.topics.conversion-event.partitions:3}",
+        replicationFactor = "${kafka.topics.conversion-event.replicas:1}",
+        dltStrategy = DltStrategy.FAIL_ON_ERROR
+    )
     @KafkaListener(
+        id = RECORD_LISTENER_ID,
         topics = KafkaConstants.CONVERSION_EVENT_TOPIC,
         groupId = KafkaConstants.EVENT_HANDLER_GROUP,
-        containerFactory = "eventListenerContainerFactory"
+        containerFactory = "eventListenerContainerFactory",
+        autoStartup = "#{'${conversion.read-model.listener-mode:batch}' == 'record'}"
     )
     @Transactional
     public void consumeConversionEvent(ConversionEvent event) {
+        project(event);
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConversionEvent event,
+                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                 @Header(name = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String errorMessage) {
+        log.error("Conversion event {} parked in {} after exhausting retries: {}",
+                event.getTransactionId(), topic, errorMessage);
+    }
+
+    @KafkaListener(
+        topics = KafkaConstants.CONVERSION_EVENT_TOPIC,
+        groupId = KafkaConstants.EVENT_HANDLER_GROUP,
+        containerFactory = "parallelEventListenerContainerFactory",
+        autoStartup = "#{'${conversion.read-model.listener-mode:batch}' == 'parallel'}"
+    )
+    public void consumeConversionEventsInParallel(List<ConsumerRecord<String, ConversionEvent>> records, Consumer<?, ?> consumer) {
+        conversionEventDispatcher.dispatch(records, consumer, this::project,
+                (record, exception) -> deadLetterRouter.route(RECORD_LISTENER_ID, record, exception));
+    }
+
+    private void project(ConversionEvent event) {
         log.info("Received ConversionEvent: {}, Type: {}", 
                 event.getTransactionId(), event.getEventType());
         
         if (event.getEventType() == ConversionEvent.EventType.CONVERSION_CREATED) {
-            
-            CurrencyConversionEntity conversionEntity = CurrencyConversionEntity.builder()
-                    .transactionId(event.getTransactionId())
-                    .sourceCurrency(event.getSourceCurrency())
-                    .targetCurrency(event.getTargetCurrency())
-                    .sourceAmount(event.getSourceAmount())
-                    .targetAmount(event.getTargetAmount())
-                    .exchangeRate(event.getExchangeRate())
-                    .timestamp(event.getTimestamp())
-                    .build();
-            
-            try {
-                if (!postgresConversionRepository.existsByTransactionId(event.getTransactionId())) {
-                    postgresConversionRepository.save(conversionEntity);
-                    log.debug("Saved conversion to read model: {}", event.getTransactionId());
-                } else {
-                    log.debug("Duplicate conversion skipped: {}", event.getTransactionId());
-                }
-            } catch (Exception e) {
-                log.error("Error saving conversion to read model: {}", event.getTransactionId(), e);
+            if (insertAndRollUp(List.of(toEntity(event))) > 0) {
+                log.debug("Saved conversion to read model: {}", event.getTransactionId());
+            } else {
+                log.debug("Duplicate conversion skipped: {}", event.getTransactionId());
             }
         } else {
             log.warn("Ignoring event type: {} for: {}", 
                     event.getEventType(), event.getTransactionId());
         }
     }
-} 
\ No newline at end of file
+
+    @KafkaListener(
+        topics = KafkaConstants.CONVERSION_EVENT_TOPIC,
+        groupId = KafkaConstants.EVENT_HANDLER_GROUP,
+        containerFactory = "eventBatchListenerContainerFactory",
+        autoStartup = "#{'${conversion.read-model.listener-mode:batch}' == 'batch'}"
+    )
+    public void consumeConversionEvents(List<ConsumerRecord<String, ConversionEvent>> records) {
+        BatchOutcome outcome = projectBatch(records);
+        log.info("Projected {} conversion events to read model ({} new, {} duplicates, {} ignored, {} sent to retry)",
+                records.size(), outcome.inserted(), outcome.duplicates(), outcome.ignored(), outcome.deadLettered());
+    }
+
+    BatchOutcome projectBatch(List<ConsumerRecord<String, ConversionEvent>> records) {
+        Map<String, ConsumerRecord<String, ConversionEvent>> created = new LinkedHashMap<>();
+        int ignored = 0;
+        for (ConsumerRecord<String, ConversionEvent> record : records) {
+            ConversionEvent event = record.value();
+            if (event == null || event.getEventType() != ConversionEvent.EventType.CONVERSION_CREATED) {
+                ignored++;
+                continue;
+            }
+            created.putIfAbsent(event.getTransactionId(), record);
+        }
+
+        int inserted = 0;
+        int deadLettered = 0;
+        if (!created.isEmpty()) {
+            List<CurrencyConversionEntity> rows = new ArrayList<>(created.size());
+            created.values().forEach(record -> rows.add(toEntity(record.value())));
+            try {
+                inserted = insertAndRollUp(rows);
+            } catch (DataAccessException e) {
+                log.warn("Multi-row upsert of {} conversions failed, retrying row by row: {}", rows.size(), e.getMessage());
+                for (ConsumerRecord<String, ConversionEvent> record : created.values()) {
+                    try {
+                        List<CurrencyConversionEntity> row = List.of(toEntity(record.value()));
+                        inserted += insertAndRollUp(row);
+                    } catch (DataAccessException rowFailure) {
+                        deadLetterRouter.route(RECORD_LISTENER_ID, record, rowFailure);
+                        deadLettered++;
+                    }
+                }
+            }
+        }
+        return new BatchOutcome(inserted, records.size() - ignored - inserted - deadLettered, ignored, deadLettered);
+    }
+
+    private int insertAndRollUp(List<CurrencyConversionEntity> rows) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            int count = postgresConversionRepository.insertAllIgnoringDuplicates(rows);
+            rollupRepository.addAll(rows);
+            lookupCache.onProjected(rows);
+            return count;
+        });
+        return inserted != null ? inserted : 0;
+    }
+
+    record BatchOutcome(int inserted, int duplicates, int ignored, int deadLettered) {
+    }
+
+    private static CurrencyConversionEntity toEntity(ConversionEvent event) {
+        return CurrencyConversionEntity.builder()
+                .transactionId(event.getTransactionId())
+                .sourceCurrency(event.getSourceCurrency())
+                .targetCurrency(event.getTargetCurrency())
+                .sourceAmount(event.getSourceAmount())
+                .targetAmount(event.getTargetAmount())
+                .exchangeRate(event.getExchangeRate())
+                .timestamp(event.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.hasandag.exchange.conversion.kafka.parallel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Slf4j
+public class KeyOrderedDispatcher<V> implements ConsumerAwareRebalanceListener, DisposableBean {
+
+    private final String name;
+    private final Function<V, String> keyExtractor;
+    private final ThreadPoolExecutor[] lanes;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long drainTimeoutMs;
+    private final Map<TopicPartition, OffsetWatermark> watermarks = new ConcurrentHashMap<>();
+
+    public KeyOrderedDispatcher(String name, Function<V, String> keyExtractor, int laneCount, int laneCapacity,
+                                int maxAttempts, long retryBackoffMs, long drainTimeoutMs) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name + "-lane-" + threadIndex.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    KeyOrderedDispatcher::blockUntilQueued);
+        }
+    }
+
+    public void dispatch(List<ConsumerRecord<String, V>> records, Consumer<?, ?> consumer,
+                         java.util.function.Consumer<V> handler,
+                         BiConsumer<ConsumerRecord<String, V>, Exception> recoverer) {
+        for (ConsumerRecord<String, V> record : records) {
+            OffsetWatermark watermark = watermarks.computeIfAbsent(
+                    new TopicPartition(record.topic(), record.partition()), partition -> new OffsetWatermark());
+            watermark.track(record.offset());
+            laneFor(record).execute(() -> process(record, handler, recoverer, watermark));
+        }
+        commit(consumer);
+    }
+
+    public void commit(Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = committableOffsets(consumer.assignment());
+        if (offsets.isEmpty()) {
+            return;
+        }
+        consumer.commitAsync(offsets, (committed, exception) -> {
+            if (exception != null) {
+                log.warn("{}: async offset commit failed, will retry with the next watermark: {}", name, exception.getMessage());
+                return;
+            }
+            committed.forEach((partition, offset) -> {
+                OffsetWatermark watermark = watermarks.get(partition);
+                if (watermark != null) {
+                    watermark.committed(offset.offset());
+                }
+            });
+        });
+    }
+
+    public int inFlightCount() {
+        return watermarks.values().stream().mapToInt(OffsetWatermark::inFlightCount).sum();
+    }
+
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (event.getConsumer() != null) {
+            commit(event.getConsumer());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            OffsetWatermark watermark = watermarks.get(partition);
+            if (watermark == null) {
+                continue;
+            }
+            try {
+                if (!watermark.awaitDrained(drainTimeoutMs)) {
+                    log.warn("{}: {} records of {} still in flight after {} ms, they will be redelivered to the new owner",
+                            name, watermark.inFlightCount(), partition, drainTimeoutMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = committableOffsets(partitions);
+        if (!offsets.isEmpty()) {
+            try {
+                consumer.commitSync(offsets, Duration.ofMillis(drainTimeoutMs));
+            } catch (Exception e) {
+                log.warn("{}: failed to commit offsets for revoked partitions {}: {}", name, partitions, e.getMessage());
+            }
+        }
+        partitions.forEach(watermarks::remove);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(watermarks::remove);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> committableOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetWatermark watermark = watermarks.get(partition);
+            if (watermark != null) {
+                OptionalLong next = watermark.committableOffset();
+                if (next.isPresent()) {
+                    offsets.put(partition, new OffsetAndMetadata(next.getAsLong()));
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private ThreadPoolExecutor laneFor(ConsumerRecord<String, V> record) {
+        String key = record.value() != null ? keyExtractor.apply(record.value()) : null;
+        if (key == null) {
+            key = record.key();
+        }
+        int hash = key != null ? key.hashCode() : Long.hashCode(record.offset());
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private void process(ConsumerRecord<String, V> record, java.util.function.Consumer<V> handler,
+                         BiConsumer<ConsumerRecord<String, V>, Exception> recoverer, OffsetWatermark watermark) {
+        if (record.value() == null) {
+            log.warn("{}: skipping undeserializable record at {}-{}@{}", name, record.topic(), record.partition(), record.offset());
+            watermark.complete(record.offset());
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.accept(record.value());
+                break;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    try {
+                        recoverer.accept(record, e);
+                        log.warn("{}: record {}-{}@{} failed {} times, handed to retry topics: {}", name,
+                                record.topic(), record.partition(), record.offset(), attempt, e.getMessage());
+                    } catch (Exception recoveryFailure) {
+                        log.error("{}: could not hand off record {}-{}@{}, holding its partition watermark until redelivery",
+                                name, record.topic(), record.partition(), record.offset(), recoveryFailure);
+                        return;
+                    }
+                    break;
+                }
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        watermark.complete(record.offset());
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Dispatcher lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a dispatcher lane", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hasandag.exchange.conversion.kafka.parallel;
+
+import java.util.OptionalLong;
+import java.util.TreeSet;
+
+public class OffsetWatermark {
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long highestTracked = -1;
+    private long lastCommitted = -1;
+
+    public synchronized void track(long offset) {
+        inFlight.add(offset);
+        highestTracked = Math.max(highestTracked, offset);
+    }
+
+    public synchronized void complete(long offset) {
+        inFlight.remove(offset);
+        notifyAll();
+    }
+
+    public synchronized OptionalLong committableOffset() {
+        if (highestTracked < 0) {
+            return OptionalLong.empty();
+        }
+        long next = inFlight.isEmpty() ? highestTracked + 1 : inFlight.first();
+        return next > lastCommitted ? OptionalLong.of(next) : OptionalLong.empty();
+    }
+
+    public synchronized void committed(long offset) {
+        lastCommitted = Math.max(lastCommitted, offset);
+    }
+
+    public synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public synchronized boolean awaitDrained(long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!inFlight.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+}
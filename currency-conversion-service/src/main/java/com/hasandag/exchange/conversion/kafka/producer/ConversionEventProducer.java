@@ -2,12 +2,20 @@ package com.hasandag.exchange.conversion.kafka.producer;
 
 import com.hasandag.exchange.common.constants.KafkaConstants;
 import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,13 +23,35 @@ import org.springframework.stereotype.Component;
 public class ConversionEventProducer {
     
     private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${conversion.batch.event-publish.ack-timeout-ms:30000}")
+    private long ackTimeoutMs;
     
-    public void sendConversionEvent(ConversionEvent event) {
-        log.debug("Sending conversion event: {}", event.getTransactionId());
+    public void sendConversionEventsAndAwait(List<ConversionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[events.size()];
         try {
-            kafkaTemplate.send(KafkaConstants.CONVERSION_EVENT_TOPIC, event.getEventId(), event);
-        } catch (Exception e) {
-            log.error("Error sending conversion event", e);
+            for (int i = 0; i < events.size(); i++) {
+                ConversionEvent event = events.get(i);
+                futures[i] = kafkaTemplate.send(KafkaConstants.CONVERSION_EVENT_TOPIC, event.getEventId(), event);
+            }
+            kafkaTemplate.flush();
+            CompletableFuture.allOf(futures).get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+            log.debug("Published and acknowledged {} conversion events", events.size());
+        } catch (ExecutionException e) {
+            throw new EventPublishException("Failed to publish " + events.size() + " conversion events: "
+                    + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new EventPublishException("Timed out after " + ackTimeoutMs + "ms waiting for acknowledgement of "
+                    + events.size() + " conversion events", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishException("Interrupted while publishing conversion events", e);
+        } catch (RuntimeException e) {
+            throw new EventPublishException("Failed to publish conversion events: " + e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.hasandag.exchange.conversion.kafka.producer;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = {"kafka.enabled", "conversion.outbox.relay.enabled"}, havingValue = "true", matchIfMissing = true)
+public class ConversionOutboxRelay {
+
+    private final ConversionEventProducer eventProducer;
+    private final CurrencyConversionMongoRepository mongoRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public ConversionOutboxRelay(
+            ConversionEventProducer eventProducer,
+            @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository,
+            @Value("${conversion.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${conversion.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.eventProducer = eventProducer;
+        this.mongoRepository = mongoRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${conversion.outbox.relay.interval-ms:200}")
+    public void relayPendingEvents() {
+        if (mongoRepository == null) {
+            return;
+        }
+
+        int relayed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<CurrencyConversionDocument> pending = mongoRepository.findPendingOutbox(batchSize);
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            List<ConversionEvent> events = new ArrayList<>(pending.size());
+            List<String> ids = new ArrayList<>(pending.size());
+            for (CurrencyConversionDocument document : pending) {
+                events.add(toEvent(document));
+                ids.add(document.getId());
+            }
+
+            try {
+                eventProducer.sendConversionEventsAndAwait(events);
+            } catch (EventPublishException e) {
+                log.warn("Outbox relay could not publish {} conversion events, will retry: {}", events.size(), e.getMessage());
+                break;
+            }
+            mongoRepository.clearOutbox(ids);
+            relayed += events.size();
+
+            if (pending.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (relayed > 0) {
+            log.debug("Outbox relay published {} conversion events", relayed);
+        }
+    }
+
+    private static ConversionEvent toEvent(CurrencyConversionDocument document) {
+        return ConversionEvent.builder()
+                .eventId(document.getOutbox().getEventId())
+                .transactionId(document.getTransactionId())
+                .commandId(document.getCommandId())
+                .correlationId(document.getCorrelationId())
+                .userId(document.getUserId())
+                .sourceCurrency(document.getSourceCurrency())
+                .targetCurrency(document.getTargetCurrency())
+                .sourceAmount(document.getSourceAmount())
+                .targetAmount(document.getTargetAmount())
+                .exchangeRate(document.getExchangeRate())
+                .timestamp(document.getTimestamp())
+                .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.hasandag.exchange.conversion.kafka.retry;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.DestinationTopicResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadLetterRouter {
+
+    private final ObjectProvider<DestinationTopicResolver> destinationTopicResolver;
+    private final Map<String, DeadLetterPublishingRecoverer> recoverers = new ConcurrentHashMap<>();
+
+    public void route(String mainListenerId, ConsumerRecord<?, ?> record, Exception exception) {
+        recoverers.computeIfAbsent(mainListenerId, id ->
+                        new DeadLetterPublishingRecovererFactory(destinationTopicResolver.getObject()).create(id))
+                .accept(record, exception);
+    }
+}
@@ -0,0 +1,61 @@
+package com.hasandag.exchange.conversion.kafka.retry;
+
+import com.hasandag.exchange.conversion.cqrs.command.ConversionCommandHandler;
+import com.hasandag.exchange.conversion.kafka.consumer.ConversionEventConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class RetryTopicContainerStarter implements SmartLifecycle {
+
+    private static final List<String> RETRYABLE_LISTENER_IDS = List.of(
+            ConversionEventConsumer.RECORD_LISTENER_ID,
+            ConversionCommandHandler.RECORD_LISTENER_ID);
+
+    private final KafkaListenerEndpointRegistry registry;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        for (String id : registry.getListenerContainerIds()) {
+            if (isRetryOrDltContainer(id)) {
+                MessageListenerContainer container = registry.getListenerContainer(id);
+                if (container != null && !container.isRunning()) {
+                    container.start();
+                    log.info("Started retry topic container {} independently of its main listener", id);
+                }
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return AbstractMessageListenerContainer.DEFAULT_PHASE + 1;
+    }
+
+    private static boolean isRetryOrDltContainer(String id) {
+        return RETRYABLE_LISTENER_IDS.stream().anyMatch(mainId -> id.startsWith(mainId + "-"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "batch_job_summary", indexes = {
+    @Index(name = "idx_batch_job_summary_name_execution", columnList = "jobName, jobExecutionId"),
+    @Index(name = "idx_batch_job_summary_status", columnList = "status")
+})
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobSummaryEntity {
+
+    @Id
+    private Long jobExecutionId;
+
+    @Column(nullable = false)
+    private Long jobInstanceId;
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(length = 2500)
+    private String exitCode;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private String originalFilename;
+
+    private Long fileSize;
+
+    private Long submittedAt;
+
+    private long readCount;
+
+    private long writeCount;
+
+    private long commitCount;
+
+    private long skipCount;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchJobSummaryEntity that = (BatchJobSummaryEntity) o;
+        return Objects.equals(jobExecutionId, that.jobExecutionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobExecutionId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.hasandag.exchange.conversion.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionHistorySlice {
+
+    private List<CurrencyConversionEntity> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    private String countMode;
+
+    private Long totalElements;
+}
@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 @Document(collection = "currency_conversions")
 @CompoundIndex(name = "idx_timestamp_status", def = "{'timestamp': -1, 'status': 1}")
 @CompoundIndex(name = "idx_user_timestamp", def = "{'user_id': 1, 'timestamp': -1}")
+@CompoundIndex(name = "idx_outbox_pending", def = "{'outbox.created_at': 1}", sparse = true)
 public class CurrencyConversionDocument {
 
     @Id
@@ -57,8 +58,15 @@ public class CurrencyConversionDocument {
     
     @Field("correlation_id")
     private String correlationId;
+
+    @Field("batch_job_id")
+    @Indexed(sparse = true)
+    private Long batchJobId;
     
     @Field("status")
     @Indexed
     private String status = "COMPLETED"; // PENDING, COMPLETED, FAILED
+
+    @Field("outbox")
+    private OutboxEntry outbox;
 } 
\ No newline at end of file
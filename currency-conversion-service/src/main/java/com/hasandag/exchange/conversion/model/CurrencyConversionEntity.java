@@ -22,8 +22,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "currency_conversions", indexes = {
-    @Index(name = "idx_transaction_id", columnList = "transactionId", unique = true),
-    @Index(name = "idx_timestamp", columnList = "timestamp")
+    @Index(name = "idx_transaction_id", columnList = "transactionId, timestamp", unique = true),
+    @Index(name = "idx_timestamp_id", columnList = "timestamp DESC, id DESC")
 })
 @Getter
 @Setter
@@ -37,7 +37,7 @@ public class CurrencyConversionEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String transactionId;
     
     @Column(nullable = false)
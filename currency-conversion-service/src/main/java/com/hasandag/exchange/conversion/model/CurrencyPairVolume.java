@@ -0,0 +1,30 @@
+package com.hasandag.exchange.conversion.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyPairVolume {
+
+    private String granularity;
+
+    private LocalDateTime bucketStart;
+
+    private String sourceCurrency;
+
+    private String targetCurrency;
+
+    private long conversionCount;
+
+    private BigDecimal sourceVolume;
+
+    private BigDecimal targetVolume;
+}
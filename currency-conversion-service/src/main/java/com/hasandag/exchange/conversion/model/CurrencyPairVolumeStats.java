@@ -0,0 +1,33 @@
+package com.hasandag.exchange.conversion.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyPairVolumeStats {
+
+    private String pair;
+
+    private String granularity;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private Long totalConversions;
+
+    private BigDecimal totalSourceVolume;
+
+    private BigDecimal totalTargetVolume;
+
+    private List<CurrencyPairVolume> buckets;
+}
@@ -0,0 +1,22 @@
+package com.hasandag.exchange.conversion.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEntry {
+
+    @Field("event_id")
+    private String eventId;
+
+    @Field("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.hasandag.exchange.conversion.model;
+
+public interface TransactionIdView {
+
+    String getTransactionId();
+}
@@ -0,0 +1,17 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+
+import java.util.List;
+
+public record BulkInsertResult(List<CurrencyConversionDocument> inserted,
+                               List<CurrencyConversionDocument> duplicates) {
+
+    public int insertedCount() {
+        return inserted.size();
+    }
+
+    public int duplicateCount() {
+        return duplicates.size();
+    }
+}
@@ -0,0 +1,166 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(name = {"spring.data.mongodb.enabled", "conversion.write.group-commit.enabled"}, havingValue = "true", matchIfMissing = true)
+public class ConversionGroupCommitWriter implements SmartLifecycle {
+
+    // Below the web server's start/stop phase, so the writer stops only after in-flight requests have drained.
+    private static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final CurrencyConversionMongoRepository mongoRepository;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public ConversionGroupCommitWriter(CurrencyConversionMongoRepository mongoRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${conversion.write.group-commit.max-batch-size:256}") int maxBatchSize,
+                                       @Value("${conversion.write.group-commit.max-wait-micros:500}") long maxWaitMicros,
+                                       @Value("${conversion.write.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.mongoRepository = mongoRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.batchSizes = DistributionSummary.builder("conversion.write.group-commit.batch.size")
+                .description("Single conversions written per Write Model (MongoDB) insertMany")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<CurrencyConversionDocument> write(CurrencyConversionDocument document) {
+        CompletableFuture<CurrencyConversionDocument> future = new CompletableFuture<>();
+        if (!running || !queue.offer(new PendingWrite(document, future))) {
+            future.completeExceptionally(new RejectedExecutionException(
+                    running ? "Group commit queue is full" : "Group commit writer is not running"));
+        }
+        return future;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusherThread = new Thread(this::flushLoop, "conversion-group-commit");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            try {
+                flusherThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> pending) {
+        List<PendingWrite> batch = new ArrayList<>(pending.size());
+        List<CurrencyConversionDocument> documents = new ArrayList<>(pending.size());
+        for (PendingWrite write : pending) {
+            if (!write.future().isDone()) {
+                batch.add(write);
+                documents.add(write.document());
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+
+        try {
+            BulkInsertResult result = mongoRepository.insertAllUnordered(documents);
+            Set<CurrencyConversionDocument> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+            duplicates.addAll(result.duplicates());
+            for (PendingWrite write : batch) {
+                if (duplicates.contains(write.document())) {
+                    write.future().completeExceptionally(new DuplicateKeyException(
+                            "Transaction already exists in Write Model: " + write.document().getTransactionId()));
+                } else {
+                    write.future().complete(write.document());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Group commit of {} conversions to Write Model (MongoDB) failed: {}", batch.size(), e.getMessage());
+            for (PendingWrite write : batch) {
+                write.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private record PendingWrite(CurrencyConversionDocument document, CompletableFuture<CurrencyConversionDocument> future) {
+    }
+}
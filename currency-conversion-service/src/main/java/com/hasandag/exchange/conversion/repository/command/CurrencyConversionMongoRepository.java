@@ -1,17 +1,27 @@
 package com.hasandag.exchange.conversion.repository.command;
 
 import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.model.TransactionIdView;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
-public interface CurrencyConversionMongoRepository extends MongoRepository<CurrencyConversionDocument, String> {
+public interface CurrencyConversionMongoRepository extends MongoRepository<CurrencyConversionDocument, String>,
+        CurrencyConversionMongoRepositoryCustom {
     
     Optional<CurrencyConversionDocument> findByTransactionId(String transactionId);
     
     boolean existsByTransactionId(String transactionId);
+
+    long countByTransactionIdStartingWithAndTimestampGreaterThanEqual(String prefix, LocalDateTime since);
+
+    Stream<TransactionIdView> findByTransactionIdStartingWithAndTimestampGreaterThanEqual(String prefix, LocalDateTime since);
+
+    Stream<CurrencyConversionDocument> findByBatchJobId(Long batchJobId);
 } 
\ No newline at end of file
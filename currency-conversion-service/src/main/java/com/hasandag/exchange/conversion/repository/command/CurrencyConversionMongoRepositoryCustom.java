@@ -0,0 +1,15 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CurrencyConversionMongoRepositoryCustom {
+
+    BulkInsertResult insertAllUnordered(List<CurrencyConversionDocument> documents);
+
+    List<CurrencyConversionDocument> findPendingOutbox(int limit);
+
+    long clearOutbox(Collection<String> ids);
+}
@@ -0,0 +1,86 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Slf4j
+public class CurrencyConversionMongoRepositoryCustomImpl implements CurrencyConversionMongoRepositoryCustom {
+
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public BulkInsertResult insertAllUnordered(List<CurrencyConversionDocument> documents) {
+        if (documents.isEmpty()) {
+            return new BulkInsertResult(Collections.emptyList(), Collections.emptyList());
+        }
+
+        BulkOperations bulkOperations = mongoOperations.bulkOps(
+                BulkOperations.BulkMode.UNORDERED, CurrencyConversionDocument.class);
+        bulkOperations.insert(documents);
+
+        BitSet duplicateIndexes = new BitSet(documents.size());
+        try {
+            bulkOperations.execute();
+        } catch (BulkOperationException e) {
+            List<BulkWriteError> otherErrors = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                    duplicateIndexes.set(error.getIndex());
+                } else {
+                    otherErrors.add(error);
+                }
+            }
+            if (!otherErrors.isEmpty()) {
+                log.error("Bulk insert to Write Model (MongoDB) failed for {} of {} documents: {}",
+                        otherErrors.size(), documents.size(), otherErrors.get(0).getMessage());
+                throw e;
+            }
+        }
+
+        List<CurrencyConversionDocument> inserted = new ArrayList<>(documents.size() - duplicateIndexes.cardinality());
+        List<CurrencyConversionDocument> duplicates = new ArrayList<>(duplicateIndexes.cardinality());
+        for (int i = 0; i < documents.size(); i++) {
+            if (duplicateIndexes.get(i)) {
+                duplicates.add(documents.get(i));
+            } else {
+                inserted.add(documents.get(i));
+            }
+        }
+        return new BulkInsertResult(inserted, duplicates);
+    }
+
+    @Override
+    public List<CurrencyConversionDocument> findPendingOutbox(int limit) {
+        Query query = new Query(Criteria.where("outbox.createdAt").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "outbox.createdAt"))
+                .limit(limit);
+        return mongoOperations.find(query, CurrencyConversionDocument.class);
+    }
+
+    @Override
+    public long clearOutbox(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoOperations.updateMulti(new Query(Criteria.where("_id").in(ids)),
+                new Update().unset("outbox"), CurrencyConversionDocument.class).getModifiedCount();
+    }
+}
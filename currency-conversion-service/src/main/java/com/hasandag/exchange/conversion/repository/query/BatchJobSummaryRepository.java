@@ -0,0 +1,58 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.BatchJobSummaryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchJobSummaryRepository extends JpaRepository<BatchJobSummaryEntity, Long> {
+
+    List<BatchJobSummaryEntity> findTop50ByOrderByJobExecutionIdDesc();
+
+    Page<BatchJobSummaryEntity> findByJobNameOrderByJobExecutionIdDesc(String jobName, Pageable pageable);
+
+    List<BatchJobSummaryEntity> findByStatusInOrderByJobExecutionIdDesc(Collection<String> statuses);
+
+    long countByStatusIn(Collection<String> statuses);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO batch_job_summary (job_execution_id, job_instance_id, job_name, status, exit_code, "
+            + "create_time, start_time, end_time, original_filename, file_size, submitted_at, "
+            + "read_count, write_count, commit_count, skip_count) "
+            + "SELECT :#{#summary.jobExecutionId}, :#{#summary.jobInstanceId}, :#{#summary.jobName}, "
+            + ":#{#summary.status}, :#{#summary.exitCode}, :#{#summary.createTime}, :#{#summary.startTime}, "
+            + ":#{#summary.endTime}, :#{#summary.originalFilename}, :#{#summary.fileSize}, :#{#summary.submittedAt}, "
+            + "0, 0, 0, 0 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM batch_job_summary WHERE job_execution_id = :#{#summary.jobExecutionId})",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("summary") BatchJobSummaryEntity summary);
+
+    @Query("select s.jobName as jobName, s.status as status, count(s) as executions "
+            + "from BatchJobSummaryEntity s group by s.jobName, s.status")
+    List<JobStatusCount> countByJobNameAndStatus();
+
+    @Query("select s.jobName as jobName, count(distinct s.jobInstanceId) as instances "
+            + "from BatchJobSummaryEntity s group by s.jobName")
+    List<JobInstanceCount> countInstancesByJobName();
+
+    interface JobStatusCount {
+        String getJobName();
+        String getStatus();
+        long getExecutions();
+    }
+
+    interface JobInstanceCount {
+        String getJobName();
+        long getInstances();
+    }
+}
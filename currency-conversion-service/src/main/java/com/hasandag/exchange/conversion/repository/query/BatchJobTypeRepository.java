@@ -0,0 +1,9 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.BatchJobTypeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BatchJobTypeRepository extends JpaRepository<BatchJobTypeEntity, String> {
+}
@@ -1,20 +1,27 @@
 package com.hasandag.exchange.conversion.repository.query;
 
 import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.model.TransactionIdView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CurrencyConversionPostgresRepository extends JpaRepository<CurrencyConversionEntity, Long> {
+public interface CurrencyConversionPostgresRepository extends JpaRepository<CurrencyConversionEntity, Long>,
+        CurrencyConversionPostgresRepositoryCustom {
     
     Optional<CurrencyConversionEntity> findByTransactionId(String transactionId);
     
     boolean existsByTransactionId(String transactionId);
     
     Page<CurrencyConversionEntity> findByTimestampBetweenOrderByTimestampDesc(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    long countByTimestampBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    List<TransactionIdView> findByTransactionIdStartingWithAndTimestampGreaterThanEqual(String prefix, LocalDateTime since);
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+public interface CurrencyConversionPostgresRepositoryCustom {
+
+    int insertAllIgnoringDuplicates(List<CurrencyConversionEntity> conversions);
+
+    List<CurrencyConversionEntity> findHistoryPage(LocalDateTime start, LocalDateTime end,
+                                                   LocalDateTime beforeTimestamp, Long beforeId, int limit);
+
+    OptionalLong estimateCountBetween(LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,118 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class CurrencyConversionPostgresRepositoryCustomImpl implements CurrencyConversionPostgresRepositoryCustom {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int COLUMNS = 7;
+    private static final String INCOMING_PREFIX =
+            "WITH incoming (transaction_id, source_currency, target_currency, source_amount, target_amount, " +
+            "exchange_rate, timestamp) AS (VALUES ";
+    private static final String ROW_PLACEHOLDERS =
+            "(CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS DECIMAL), CAST(? AS DECIMAL), " +
+            "CAST(? AS DECIMAL), CAST(? AS TIMESTAMP))";
+    private static final String CLAIM_AND_INSERT =
+            "), claimed AS (INSERT INTO conversion_transaction_ids (transaction_id) SELECT transaction_id FROM incoming " +
+            "ON CONFLICT DO NOTHING RETURNING transaction_id) " +
+            "INSERT INTO currency_conversions (transaction_id, source_currency, target_currency, " +
+            "source_amount, target_amount, exchange_rate, timestamp) " +
+            "SELECT i.transaction_id, i.source_currency, i.target_currency, i.source_amount, i.target_amount, " +
+            "i.exchange_rate, i.timestamp FROM incoming i JOIN claimed USING (transaction_id) " +
+            "RETURNING id, transaction_id, source_amount, target_amount, exchange_rate, timestamp";
+    private static final String HISTORY_SELECT =
+            "SELECT id, transaction_id, source_currency, target_currency, source_amount, target_amount, " +
+            "exchange_rate, timestamp FROM currency_conversions WHERE timestamp BETWEEN ? AND ?";
+    private static final String HISTORY_BEFORE_CURSOR = " AND (timestamp, id) < (?, ?)";
+    private static final String HISTORY_ORDER = " ORDER BY timestamp DESC, id DESC LIMIT ?";
+    private static final String ESTIMATE_COUNT =
+            "EXPLAIN SELECT 1 FROM currency_conversions WHERE timestamp BETWEEN ? AND ?";
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final RowMapper<CurrencyConversionEntity> HISTORY_ROW_MAPPER = (rs, rowNum) -> CurrencyConversionEntity.builder()
+            .id(rs.getLong("id"))
+            .transactionId(rs.getString("transaction_id"))
+            .sourceCurrency(rs.getString("source_currency"))
+            .targetCurrency(rs.getString("target_currency"))
+            .sourceAmount(rs.getBigDecimal("source_amount"))
+            .targetAmount(rs.getBigDecimal("target_amount"))
+            .exchangeRate(rs.getBigDecimal("exchange_rate"))
+            .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAllIgnoringDuplicates(List<CurrencyConversionEntity> conversions) {
+        int inserted = 0;
+        for (int from = 0; from < conversions.size(); from += MAX_ROWS_PER_STATEMENT) {
+            Map<String, CurrencyConversionEntity> byTransactionId = new LinkedHashMap<>();
+            for (CurrencyConversionEntity row : conversions.subList(from,
+                    Math.min(from + MAX_ROWS_PER_STATEMENT, conversions.size()))) {
+                byTransactionId.putIfAbsent(row.getTransactionId(), row);
+            }
+
+            String sql = INCOMING_PREFIX + String.join(", ", Collections.nCopies(byTransactionId.size(), ROW_PLACEHOLDERS))
+                    + CLAIM_AND_INSERT;
+            Object[] args = new Object[byTransactionId.size() * COLUMNS];
+            int i = 0;
+            for (CurrencyConversionEntity row : byTransactionId.values()) {
+                args[i++] = row.getTransactionId();
+                args[i++] = row.getSourceCurrency();
+                args[i++] = row.getTargetCurrency();
+                args[i++] = row.getSourceAmount();
+                args[i++] = row.getTargetAmount();
+                args[i++] = row.getExchangeRate();
+                args[i++] = Timestamp.valueOf(row.getTimestamp() != null ? row.getTimestamp() : LocalDateTime.now());
+            }
+            List<Integer> returned = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                CurrencyConversionEntity row = byTransactionId.get(rs.getString("transaction_id"));
+                if (row != null) {
+                    row.setId(rs.getLong("id"));
+                    row.setSourceAmount(rs.getBigDecimal("source_amount"));
+                    row.setTargetAmount(rs.getBigDecimal("target_amount"));
+                    row.setExchangeRate(rs.getBigDecimal("exchange_rate"));
+                    row.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+                }
+                return rowNum;
+            }, args);
+            inserted += returned.size();
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<CurrencyConversionEntity> findHistoryPage(LocalDateTime start, LocalDateTime end,
+                                                          LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        if (beforeTimestamp == null || beforeId == null) {
+            return jdbcTemplate.query(HISTORY_SELECT + HISTORY_ORDER, HISTORY_ROW_MAPPER,
+                    Timestamp.valueOf(start), Timestamp.valueOf(end), limit);
+        }
+        return jdbcTemplate.query(HISTORY_SELECT + HISTORY_BEFORE_CURSOR + HISTORY_ORDER, HISTORY_ROW_MAPPER,
+                Timestamp.valueOf(start), Timestamp.valueOf(end), Timestamp.valueOf(beforeTimestamp), beforeId, limit);
+    }
+
+    @Override
+    public OptionalLong estimateCountBetween(LocalDateTime start, LocalDateTime end) {
+        List<String> plan = jdbcTemplate.queryForList(ESTIMATE_COUNT, String.class,
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+        if (plan.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        Matcher matcher = PLAN_ROWS.matcher(plan.get(0));
+        return matcher.find() ? OptionalLong.of(Long.parseLong(matcher.group(1))) : OptionalLong.empty();
+    }
+}
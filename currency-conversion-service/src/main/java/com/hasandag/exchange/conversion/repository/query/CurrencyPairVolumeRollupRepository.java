@@ -0,0 +1,136 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.model.CurrencyPairVolume;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class CurrencyPairVolumeRollupRepository {
+
+    public static final String TABLE = "currency_pair_volume_rollups";
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int COLUMNS = 7;
+    private static final int AMOUNT_SCALE = 4;
+    private static final String INSERT_COLUMNS = " AS r (granularity, bucket_start, source_currency, target_currency, " +
+            "conversion_count, source_volume, target_volume) ";
+    private static final String UPSERT_PREFIX = "INSERT INTO " + TABLE + INSERT_COLUMNS + "VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT =
+            " ON CONFLICT (granularity, source_currency, target_currency, bucket_start) DO UPDATE SET " +
+            "conversion_count = r.conversion_count + EXCLUDED.conversion_count, " +
+            "source_volume = r.source_volume + EXCLUDED.source_volume, " +
+            "target_volume = r.target_volume + EXCLUDED.target_volume";
+    private static final String SELECT_ROLLUPS =
+            "SELECT granularity, bucket_start, source_currency, target_currency, conversion_count, source_volume, target_volume " +
+            "FROM " + TABLE + " WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+    private static final String PAIR_FILTER = " AND source_currency = ? AND target_currency = ?";
+    private static final String ORDER = " ORDER BY bucket_start, source_currency, target_currency";
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::granularity)
+            .thenComparing(RollupKey::sourceCurrency)
+            .thenComparing(RollupKey::targetCurrency)
+            .thenComparing(RollupKey::bucketStart);
+    private static final RowMapper<CurrencyPairVolume> ROW_MAPPER = (rs, rowNum) -> CurrencyPairVolume.builder()
+            .granularity(rs.getString("granularity"))
+            .bucketStart(rs.getTimestamp("bucket_start").toLocalDateTime())
+            .sourceCurrency(rs.getString("source_currency"))
+            .targetCurrency(rs.getString("target_currency"))
+            .conversionCount(rs.getLong("conversion_count"))
+            .sourceVolume(rs.getBigDecimal("source_volume"))
+            .targetVolume(rs.getBigDecimal("target_volume"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int addAll(Collection<CurrencyConversionEntity> conversions) {
+        Map<RollupKey, CurrencyPairVolume> deltas = new TreeMap<>(KEY_ORDER);
+        for (CurrencyConversionEntity conversion : conversions) {
+            if (conversion.getId() == null) {
+                continue;
+            }
+            LocalDateTime hour = conversion.getTimestamp().truncatedTo(ChronoUnit.HOURS);
+            accumulate(deltas, HOUR, hour, conversion);
+            accumulate(deltas, DAY, hour.truncatedTo(ChronoUnit.DAYS), conversion);
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        List<CurrencyPairVolume> rows = new ArrayList<>(deltas.values());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<CurrencyPairVolume> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            String sql = UPSERT_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS)) + ON_CONFLICT;
+            Object[] args = new Object[chunk.size() * COLUMNS];
+            int i = 0;
+            for (CurrencyPairVolume row : chunk) {
+                args[i++] = row.getGranularity();
+                args[i++] = Timestamp.valueOf(row.getBucketStart());
+                args[i++] = row.getSourceCurrency();
+                args[i++] = row.getTargetCurrency();
+                args[i++] = row.getConversionCount();
+                args[i++] = row.getSourceVolume();
+                args[i++] = row.getTargetVolume();
+            }
+            jdbcTemplate.update(sql, args);
+        }
+        return rows.size();
+    }
+
+    public List<CurrencyPairVolume> find(String granularity, LocalDateTime from, LocalDateTime to,
+                                         String sourceCurrency, String targetCurrency) {
+        if (sourceCurrency != null && targetCurrency != null) {
+            return jdbcTemplate.query(SELECT_ROLLUPS + PAIR_FILTER + ORDER, ROW_MAPPER,
+                    granularity, Timestamp.valueOf(from), Timestamp.valueOf(to), sourceCurrency, targetCurrency);
+        }
+        return jdbcTemplate.query(SELECT_ROLLUPS + ORDER, ROW_MAPPER,
+                granularity, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public static String aggregateInto(String rollupTable, String conversions) {
+        return "INSERT INTO " + rollupTable + INSERT_COLUMNS +
+                "SELECT g.granularity, date_trunc(lower(g.granularity), c.timestamp), c.source_currency, c.target_currency, " +
+                "COUNT(*), SUM(c.source_amount), SUM(c.target_amount) " +
+                "FROM " + conversions + " c CROSS JOIN (VALUES ('" + HOUR + "'), ('" + DAY + "')) AS g(granularity) " +
+                "GROUP BY g.granularity, date_trunc(lower(g.granularity), c.timestamp), c.source_currency, c.target_currency" +
+                ON_CONFLICT;
+    }
+
+    private static void accumulate(Map<RollupKey, CurrencyPairVolume> deltas, String granularity,
+                                   LocalDateTime bucketStart, CurrencyConversionEntity conversion) {
+        CurrencyPairVolume delta = deltas.computeIfAbsent(
+                new RollupKey(granularity, bucketStart, conversion.getSourceCurrency(), conversion.getTargetCurrency()),
+                key -> CurrencyPairVolume.builder()
+                        .granularity(granularity)
+                        .bucketStart(bucketStart)
+                        .sourceCurrency(key.sourceCurrency())
+                        .targetCurrency(key.targetCurrency())
+                        .sourceVolume(BigDecimal.ZERO)
+                        .targetVolume(BigDecimal.ZERO)
+                        .build());
+        delta.setConversionCount(delta.getConversionCount() + 1);
+        delta.setSourceVolume(delta.getSourceVolume().add(conversion.getSourceAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP)));
+        delta.setTargetVolume(delta.getTargetVolume().add(conversion.getTargetAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP)));
+    }
+
+    private record RollupKey(String granularity, LocalDateTime bucketStart, String sourceCurrency, String targetCurrency) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hasandag.exchange.common.dto.ConversionResponse;
+import com.hasandag.exchange.conversion.batch.RejectFileStore;
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.model.ExportFormat;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class BatchJobResultService {
+
+    private static final String[] CSV_HEADER = {
+            "transactionId", "sourceCurrency", "targetCurrency",
+            "sourceAmount", "targetAmount", "exchangeRate", "timestamp"
+    };
+
+    private final JobExplorer jobExplorer;
+    private final CurrencyConversionMongoRepository mongoRepository;
+    private final ObjectMapper objectMapper;
+    private final RejectFileStore rejectFileStore;
+
+    public BatchJobResultService(JobExplorer jobExplorer,
+                                 @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository,
+                                 ObjectMapper objectMapper,
+                                 RejectFileStore rejectFileStore) {
+        this.jobExplorer = jobExplorer;
+        this.mongoRepository = mongoRepository;
+        this.objectMapper = objectMapper;
+        this.rejectFileStore = rejectFileStore;
+    }
+
+    public ExportFormat resolveFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported result format: " + format + ". Use csv or ndjson.");
+        }
+    }
+
+    public StreamingResponseBody streamJobResults(Long jobId, ExportFormat format) {
+        if (jobExplorer.getJobExecution(jobId) == null) {
+            throw new NoSuchElementException("Job not found: " + jobId);
+        }
+        if (mongoRepository == null) {
+            throw new IllegalStateException("Write Model (MongoDB) is unavailable - cannot stream job results");
+        }
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            long rows;
+            try (Stream<CurrencyConversionDocument> documents = mongoRepository.findByBatchJobId(jobId)) {
+                rows = format == ExportFormat.CSV
+                        ? writeCsv(documents.iterator(), writer)
+                        : writeNdjson(documents.iterator(), writer);
+            }
+            writer.flush();
+            log.info("Streamed {} result rows for batch job {} as {}", rows, jobId, format);
+        };
+    }
+
+    public Resource getRejectedRows(Long jobId) {
+        if (jobExplorer.getJobExecution(jobId) == null) {
+            throw new NoSuchElementException("Job not found: " + jobId);
+        }
+        return rejectFileStore.find(jobId)
+                .<Resource>map(FileSystemResource::new)
+                .orElseThrow(() -> new NoSuchElementException("No rejected rows recorded for job: " + jobId));
+    }
+
+    private long writeCsv(Iterator<CurrencyConversionDocument> documents, Writer writer) throws IOException {
+        CSVPrinter printer = CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build().print(writer);
+        long rows = 0;
+        while (documents.hasNext()) {
+            CurrencyConversionDocument document = documents.next();
+            printer.printRecord(
+                    document.getTransactionId(),
+                    document.getSourceCurrency(),
+                    document.getTargetCurrency(),
+                    document.getSourceAmount(),
+                    document.getTargetAmount(),
+                    document.getExchangeRate(),
+                    document.getTimestamp());
+            rows++;
+        }
+        printer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<CurrencyConversionDocument> documents, Writer writer) throws IOException {
+        long rows = 0;
+        while (documents.hasNext()) {
+            CurrencyConversionDocument document = documents.next();
+            writer.write(objectMapper.writeValueAsString(ConversionResponse.builder()
+                    .transactionId(document.getTransactionId())
+                    .sourceCurrency(document.getSourceCurrency())
+                    .targetCurrency(document.getTargetCurrency())
+                    .sourceAmount(document.getSourceAmount())
+                    .targetAmount(document.getTargetAmount())
+                    .exchangeRate(document.getExchangeRate())
+                    .timestamp(document.getTimestamp())
+                    .build()));
+            writer.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+}
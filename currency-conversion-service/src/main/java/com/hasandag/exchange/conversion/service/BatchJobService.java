@@ -1,17 +1,26 @@
 package com.hasandag.exchange.conversion.service;
 
+import com.hasandag.exchange.conversion.batch.BatchJobProgress;
+import com.hasandag.exchange.conversion.batch.BatchJobProgressBroadcaster;
+import com.hasandag.exchange.conversion.batch.BatchJobQueue;
+import com.hasandag.exchange.conversion.batch.BatchUploadStorage;
+import com.hasandag.exchange.conversion.model.BatchJobSummaryEntity;
+import com.hasandag.exchange.conversion.repository.query.BatchJobSummaryRepository;
+import com.hasandag.exchange.conversion.repository.query.BatchJobTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
-import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +28,11 @@ import java.util.Set;
 public class BatchJobService {
 
     private final JobExplorer jobExplorer;
+    private final BatchJobSummaryRepository summaryRepository;
+    private final BatchJobTypeRepository jobTypeRepository;
+    private final BatchJobProgressBroadcaster progressBroadcaster;
+    private final BatchJobQueue batchJobQueue;
+    private final BatchUploadStorage uploadStorage;
 
     public Map<String, Object> getJobStatus(Long jobId) {
         Map<String, Object> response = new HashMap<>();
@@ -27,6 +41,10 @@ public class BatchJobService {
             JobExecution jobExecution = jobExplorer.getJobExecution(jobId);
             
             if (jobExecution == null) {
+                Optional<BatchJobSummaryEntity> archived = summaryRepository.findById(jobId);
+                if (archived.isPresent()) {
+                    return createArchivedJobStatus(archived.get());
+                }
                 response.put("error", "Job not found");
                 return response;
             }
@@ -68,52 +86,12 @@ public class BatchJobService {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<String> jobNames = jobExplorer.getJobNames();
-            List<Map<String, Object>> allJobs = new java.util.ArrayList<>();
-            
-            for (String jobName : jobNames) {
-                List<JobInstance> jobInstances = jobExplorer.getJobInstances(jobName, 0, 50);
-                
-                for (JobInstance jobInstance : jobInstances) {
-                    List<JobExecution> jobExecutions = jobExplorer.getJobExecutions(jobInstance);
-                    
-                    for (JobExecution jobExecution : jobExecutions) {
-                        Map<String, Object> jobInfo = new HashMap<>();
-                        jobInfo.put("job_execution_id", jobExecution.getId());
-                        jobInfo.put("job_instance_id", jobInstance.getInstanceId());
-                        jobInfo.put("job_name", jobInstance.getJobName());
-                        jobInfo.put("status", jobExecution.getStatus().toString());
-                        jobInfo.put("start_time", jobExecution.getStartTime());
-                        jobInfo.put("end_time", jobExecution.getEndTime());
-                        jobInfo.put("create_time", jobExecution.getCreateTime());
-                        jobInfo.put("exit_code", jobExecution.getExitStatus().getExitCode());
-                        
-                        Map<String, Object> parameters = new HashMap<>();
-                        if (jobExecution.getJobParameters() != null) {
-                            jobExecution.getJobParameters().getParameters().forEach((key, value) -> {
-                                if (!"file.content".equals(key)) {
-                                    parameters.put(key, value.getValue());
-                                }
-                            });
-                        }
-                        jobInfo.put("parameters", parameters);
-                        
-                        allJobs.add(jobInfo);
-                    }
-                }
-            }
-            
-            allJobs.sort((a, b) -> Long.compare(
-                (Long) b.get("job_execution_id"), 
-                (Long) a.get("job_execution_id")
-            ));
-            
-            List<Map<String, Object>> limitedJobs = allJobs.stream()
-                    .limit(50)
+            List<Map<String, Object>> jobs = summaryRepository.findTop50ByOrderByJobExecutionIdDesc().stream()
+                    .map(this::createJobInfoMap)
                     .collect(java.util.stream.Collectors.toList());
             
-            response.put("jobs", limitedJobs);
-            response.put("totalJobs", limitedJobs.size());
+            response.put("jobs", jobs);
+            response.put("totalJobs", jobs.size());
             
             return response;
             
@@ -125,7 +103,8 @@ public class BatchJobService {
     }
 
     public Map<String, Object> processFileUploadAndStartJob(org.springframework.web.multipart.MultipartFile file, 
-                                                           org.springframework.batch.core.launch.JobLauncher jobLauncher,
+                                                           String contentEncoding,
+                                                           String submitter,
                                                            org.springframework.batch.core.Job bulkConversionJob) {
         Map<String, Object> response = new HashMap<>();
         
@@ -135,25 +114,40 @@ public class BatchJobService {
                 return response;
             }
 
-            if (!isValidFile(file)) {
-                response.put("error", "Invalid file type. Please upload a CSV file.");
+            String compression = BatchUploadStorage.resolveCompression(file, contentEncoding);
+            if (!isValidFile(file, compression)) {
+                response.put("error", "Invalid file type. Please upload a CSV or gzip-compressed CSV file.");
                 return response;
             }
 
-            String fileContent = new String(file.getBytes(), "UTF-8");
+            if (!batchJobQueue.hasCapacity()) {
+                response.put("error", "Job queue is full. Please retry later.");
+                response.put("httpStatus", 429);
+                return response;
+            }
+
+            java.nio.file.Path stagedFile = uploadStorage.stage(file, compression);
             
-            org.springframework.batch.core.JobParameters jobParameters = createJobParameters(file, fileContent);
+            org.springframework.batch.core.JobParameters jobParameters = createJobParameters(file, stagedFile, compression);
 
-            org.springframework.batch.core.JobExecution jobExecution = jobLauncher.run(bulkConversionJob, jobParameters);
-            response.put("jobId", jobExecution.getJobId());
+            JobExecution jobExecution;
+            try {
+                jobExecution = batchJobQueue.launch(submitter, bulkConversionJob, jobParameters);
+            } catch (Exception e) {
+                uploadStorage.delete(stagedFile.toString());
+                throw e;
+            }
+            response.put("jobId", jobExecution.getId());
             response.put("jobInstanceId", jobExecution.getJobInstance().getInstanceId());
             response.put("status", jobExecution.getStatus().toString());
-            response.put("message", "Job started");
+            response.put("message", "Job accepted");
+            response.put("queueDepth", batchJobQueue.getQueuedCount());
             response.put("filename", file.getOriginalFilename());
             response.put("fileSize", file.getSize());
+            response.put("compression", compression);
 
-            log.info("Batch job started: {}, File: {}", 
-                    jobExecution.getJobId(), file.getOriginalFilename());
+            log.info("Batch job accepted: {}, File: {}, Submitter: {}", 
+                    jobExecution.getId(), file.getOriginalFilename(), submitter);
 
             return response;
 
@@ -166,26 +160,17 @@ public class BatchJobService {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            int start = page * size;
-            List<JobInstance> jobInstances = jobExplorer.getJobInstances(jobName, start, size);
-            List<Map<String, Object>> jobs = new java.util.ArrayList<>();
-            
-            for (JobInstance jobInstance : jobInstances) {
-                List<JobExecution> jobExecutions = jobExplorer.getJobExecutions(jobInstance);
-                
-                for (JobExecution jobExecution : jobExecutions) {
-                    Map<String, Object> jobInfo = createJobInfoMap(jobExecution, jobInstance);
-                    jobs.add(jobInfo);
-                }
-            }
-            
-            int totalCount = (int) jobExplorer.getJobInstanceCount(jobName);
+            Page<BatchJobSummaryEntity> summaries = summaryRepository.findByJobNameOrderByJobExecutionIdDesc(
+                    jobName, PageRequest.of(page, size));
+            List<Map<String, Object>> jobs = summaries.stream()
+                    .map(this::createJobInfoMapWithProgress)
+                    .collect(java.util.stream.Collectors.toList());
             
             response.put("jobs", jobs);
-            response.put("totalJobs", totalCount);
+            response.put("totalJobs", summaries.getTotalElements());
             response.put("currentPage", page);
             response.put("pageSize", size);
-            response.put("totalPages", (int) Math.ceil((double) totalCount / size));
+            response.put("totalPages", summaries.getTotalPages());
             
             return response;
             
@@ -200,17 +185,10 @@ public class BatchJobService {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<String> jobNames = jobExplorer.getJobNames();
-            List<Map<String, Object>> runningJobs = new java.util.ArrayList<>();
-            
-            for (String jobName : jobNames) {
-                Set<JobExecution> runningExecutions = jobExplorer.findRunningJobExecutions(jobName);
-                
-                for (JobExecution jobExecution : runningExecutions) {
-                    Map<String, Object> jobInfo = createJobInfoMap(jobExecution, jobExecution.getJobInstance());
-                    runningJobs.add(jobInfo);
-                }
-            }
+            List<Map<String, Object>> runningJobs = summaryRepository
+                    .findByStatusInOrderByJobExecutionIdDesc(BatchJobSummaryService.RUNNING_STATUSES).stream()
+                    .map(this::createJobInfoMapWithProgress)
+                    .collect(java.util.stream.Collectors.toList());
             
             response.put("runningJobs", runningJobs);
             response.put("count", runningJobs.size());
@@ -228,41 +206,34 @@ public class BatchJobService {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            List<String> jobNames = jobExplorer.getJobNames();
             Map<String, Object> statistics = new HashMap<>();
             
-            for (String jobName : jobNames) {
+            for (BatchJobSummaryRepository.JobInstanceCount instanceCount : summaryRepository.countInstancesByJobName()) {
                 Map<String, Object> jobStats = new HashMap<>();
-                
-                int totalInstances = (int) jobExplorer.getJobInstanceCount(jobName);
-                jobStats.put("totalInstances", totalInstances);
-                
-                Set<JobExecution> runningExecutions = jobExplorer.findRunningJobExecutions(jobName);
-                jobStats.put("runningCount", runningExecutions.size());
-                
-                List<JobInstance> recentInstances = jobExplorer.getJobInstances(jobName, 0, 100);
-                int completedCount = 0;
-                int failedCount = 0;
-                
-                for (JobInstance instance : recentInstances) {
-                    List<JobExecution> executions = jobExplorer.getJobExecutions(instance);
-                    if (!executions.isEmpty()) {
-                        JobExecution latestExecution = executions.get(executions.size() - 1);
-                        switch (latestExecution.getStatus()) {
-                            case COMPLETED -> completedCount++;
-                            case FAILED -> failedCount++;
-                        }
-                    }
+                jobStats.put("totalInstances", (int) instanceCount.getInstances());
+                jobStats.put("runningCount", 0);
+                jobStats.put("completedCount", 0);
+                jobStats.put("failedCount", 0);
+                statistics.put(instanceCount.getJobName(), jobStats);
+            }
+            
+            for (BatchJobSummaryRepository.JobStatusCount statusCount : summaryRepository.countByJobNameAndStatus()) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> jobStats = (Map<String, Object>) statistics.get(statusCount.getJobName());
+                if (jobStats == null) {
+                    continue;
+                }
+                String key = BatchJobSummaryService.RUNNING_STATUSES.contains(statusCount.getStatus()) ? "runningCount"
+                        : BatchStatus.COMPLETED.name().equals(statusCount.getStatus()) ? "completedCount"
+                        : BatchStatus.FAILED.name().equals(statusCount.getStatus()) ? "failedCount"
+                        : null;
+                if (key != null) {
+                    jobStats.merge(key, (int) statusCount.getExecutions(), (a, b) -> (Integer) a + (Integer) b);
                 }
-                
-                jobStats.put("completedCount", completedCount);
-                jobStats.put("failedCount", failedCount);
-                
-                statistics.put(jobName, jobStats);
             }
             
             response.put("statistics", statistics);
-            response.put("totalJobTypes", jobNames.size());
+            response.put("totalJobTypes", statistics.size());
             
             return response;
             
@@ -273,48 +244,95 @@ public class BatchJobService {
         }
     }
 
-    private Map<String, Object> createJobInfoMap(JobExecution jobExecution, JobInstance jobInstance) {
+    public Map<String, Object> getHealthSummary() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("runningJobs", (int) summaryRepository.countByStatusIn(BatchJobSummaryService.RUNNING_STATUSES));
+        response.put("queuedJobs", (int) summaryRepository.countByStatusIn(List.of(BatchStatus.STARTING.name())));
+        response.put("totalJobTypes", (int) jobTypeRepository.count());
+        return response;
+    }
+
+    private Map<String, Object> createJobInfoMap(BatchJobSummaryEntity summary) {
         Map<String, Object> jobInfo = new HashMap<>();
-        jobInfo.put("job_execution_id", jobExecution.getId());
-        jobInfo.put("job_instance_id", jobInstance.getInstanceId());
-        jobInfo.put("job_name", jobInstance.getJobName());
-        jobInfo.put("status", jobExecution.getStatus().toString());
-        jobInfo.put("start_time", jobExecution.getStartTime());
-        jobInfo.put("end_time", jobExecution.getEndTime());
-        jobInfo.put("create_time", jobExecution.getCreateTime());
-        jobInfo.put("exit_code", jobExecution.getExitStatus().getExitCode());
+        jobInfo.put("job_execution_id", summary.getJobExecutionId());
+        jobInfo.put("job_instance_id", summary.getJobInstanceId());
+        jobInfo.put("job_name", summary.getJobName());
+        jobInfo.put("status", summary.getStatus());
+        jobInfo.put("start_time", summary.getStartTime());
+        jobInfo.put("end_time", summary.getEndTime());
+        jobInfo.put("create_time", summary.getCreateTime());
+        jobInfo.put("exit_code", summary.getExitCode());
         
         Map<String, Object> parameters = new HashMap<>();
-        if (jobExecution.getJobParameters() != null) {
-            jobExecution.getJobParameters().getParameters().forEach((key, value) -> {
-                if (!"file.content".equals(key)) {
-                    parameters.put(key, value.getValue());
-                }
-            });
+        if (summary.getOriginalFilename() != null) {
+            parameters.put("original.filename", summary.getOriginalFilename());
+        }
+        if (summary.getFileSize() != null) {
+            parameters.put("file.size", summary.getFileSize());
+        }
+        if (summary.getSubmittedAt() != null) {
+            parameters.put("timestamp", summary.getSubmittedAt());
         }
         jobInfo.put("parameters", parameters);
         
+        return jobInfo;
+    }
+
+    private Map<String, Object> createArchivedJobStatus(BatchJobSummaryEntity summary) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", summary.getJobExecutionId());
+        response.put("jobInstanceId", summary.getJobInstanceId());
+        response.put("jobName", summary.getJobName());
+        response.put("status", summary.getStatus());
+        response.put("startTime", summary.getStartTime());
+        response.put("endTime", summary.getEndTime());
+        response.put("exitStatus", summary.getExitCode());
+        response.put("archived", true);
+
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("readCount", summary.getReadCount());
+        progress.put("writeCount", summary.getWriteCount());
+        progress.put("commitCount", summary.getCommitCount());
+        progress.put("totalSkipCount", summary.getSkipCount());
+        response.put("progress", progress);
+        return response;
+    }
+
+    private Map<String, Object> createJobInfoMapWithProgress(BatchJobSummaryEntity summary) {
+        Map<String, Object> jobInfo = createJobInfoMap(summary);
+        
         Map<String, Object> progress = new HashMap<>();
-        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
-            progress.put("readCount", stepExecution.getReadCount());
-            progress.put("writeCount", stepExecution.getWriteCount());
-            progress.put("commitCount", stepExecution.getCommitCount());
-            progress.put("skipCount", stepExecution.getSkipCount());
-            break;
+        Optional<BatchJobProgress> live = progressBroadcaster.latest(summary.getJobExecutionId());
+        if (live.isPresent()) {
+            progress.put("readCount", live.get().readCount());
+            progress.put("writeCount", live.get().writeCount());
+            progress.put("commitCount", live.get().commitCount());
+            progress.put("skipCount", live.get().totalSkipCount());
+        } else {
+            progress.put("readCount", summary.getReadCount());
+            progress.put("writeCount", summary.getWriteCount());
+            progress.put("commitCount", summary.getCommitCount());
+            progress.put("skipCount", summary.getSkipCount());
         }
         jobInfo.put("progress", progress);
         
         return jobInfo;
     }
 
-    private boolean isValidFile(org.springframework.web.multipart.MultipartFile file) {
+    private boolean isValidFile(org.springframework.web.multipart.MultipartFile file, String compression) {
         String filename = file.getOriginalFilename();
-        return filename != null && filename.toLowerCase().endsWith(".csv");
+        if (filename == null) {
+            return false;
+        }
+        String lowerCaseName = filename.toLowerCase();
+        return lowerCaseName.endsWith(".csv")
+                || (BatchUploadStorage.COMPRESSION_GZIP.equals(compression) && lowerCaseName.endsWith(".gz"));
     }
 
-    private org.springframework.batch.core.JobParameters createJobParameters(org.springframework.web.multipart.MultipartFile file, String fileContent) {
+    private org.springframework.batch.core.JobParameters createJobParameters(org.springframework.web.multipart.MultipartFile file, java.nio.file.Path stagedFile, String compression) {
         return new org.springframework.batch.core.JobParametersBuilder()
-                .addString("file.content", fileContent)
+                .addString("file.path", stagedFile.toString())
+                .addString("file.compression", compression)
                 .addString("original.filename", file.getOriginalFilename())
                 .addLong("file.size", file.getSize())
                 .addLong("timestamp", System.currentTimeMillis())
@@ -334,6 +352,9 @@ public class BatchJobService {
         } else if (e instanceof org.springframework.batch.core.JobParametersInvalidException) {
             response.put("error", "Invalid job parameters: " + e.getMessage());
             response.put("httpStatus", 400);
+        } else if (e instanceof org.springframework.core.task.TaskRejectedException) {
+            response.put("error", "Job queue is full. Please retry later.");
+            response.put("httpStatus", 429);
         } else if (e instanceof java.io.IOException) {
             log.error("File processing error", e);
             response.put("error", "Error processing uploaded file: " + e.getMessage());
@@ -0,0 +1,107 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.BatchJobSummaryEntity;
+import com.hasandag.exchange.conversion.model.BatchJobTypeEntity;
+import com.hasandag.exchange.conversion.repository.query.BatchJobSummaryRepository;
+import com.hasandag.exchange.conversion.repository.query.BatchJobTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchJobSummaryService {
+
+    public static final List<String> RUNNING_STATUSES = List.of(
+            BatchStatus.STARTED.name(), BatchStatus.STOPPING.name());
+
+    private final BatchJobSummaryRepository summaryRepository;
+    private final BatchJobTypeRepository jobTypeRepository;
+
+    public void recordJobQueued(JobExecution jobExecution) {
+        try {
+            summaryRepository.insertIfAbsent(toSummary(jobExecution));
+        } catch (Exception e) {
+            log.warn("Failed to record queued job {} in job summary: {}", jobExecution.getId(), e.getMessage());
+        }
+        recordJobType(jobExecution);
+    }
+
+    public void recordJobStarted(JobExecution jobExecution) {
+        try {
+            summaryRepository.save(toSummary(jobExecution));
+        } catch (Exception e) {
+            log.warn("Failed to record start of job {} in job summary: {}", jobExecution.getId(), e.getMessage());
+        }
+        recordJobType(jobExecution);
+    }
+
+    public void recordStepFinished(StepExecution stepExecution) {
+        try {
+            summaryRepository.findById(stepExecution.getJobExecutionId()).ifPresent(summary -> {
+                summary.setReadCount(stepExecution.getReadCount());
+                summary.setWriteCount(stepExecution.getWriteCount());
+                summary.setCommitCount(stepExecution.getCommitCount());
+                summary.setSkipCount(stepExecution.getSkipCount());
+                summaryRepository.save(summary);
+            });
+        } catch (Exception e) {
+            log.warn("Failed to record step progress of job {} in job summary: {}",
+                    stepExecution.getJobExecutionId(), e.getMessage());
+        }
+    }
+
+    public void recordJobFinished(JobExecution jobExecution) {
+        try {
+            BatchJobSummaryEntity summary = toSummary(jobExecution);
+            for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+                summary.setReadCount(summary.getReadCount() + stepExecution.getReadCount());
+                summary.setWriteCount(summary.getWriteCount() + stepExecution.getWriteCount());
+                summary.setCommitCount(summary.getCommitCount() + stepExecution.getCommitCount());
+                summary.setSkipCount(summary.getSkipCount() + stepExecution.getSkipCount());
+            }
+            summaryRepository.save(summary);
+        } catch (Exception e) {
+            log.warn("Failed to record completion of job {} in job summary: {}", jobExecution.getId(), e.getMessage());
+        }
+    }
+
+    private void recordJobType(JobExecution jobExecution) {
+        String jobName = jobExecution.getJobInstance().getJobName();
+        try {
+            if (!jobTypeRepository.existsById(jobName)) {
+                jobTypeRepository.save(BatchJobTypeEntity.builder()
+                        .jobName(jobName)
+                        .firstSeenAt(LocalDateTime.now())
+                        .build());
+            }
+        } catch (Exception e) {
+            log.debug("Job type {} was not recorded: {}", jobName, e.getMessage());
+        }
+    }
+
+    private BatchJobSummaryEntity toSummary(JobExecution jobExecution) {
+        JobParameters parameters = jobExecution.getJobParameters();
+        return BatchJobSummaryEntity.builder()
+                .jobExecutionId(jobExecution.getId())
+                .jobInstanceId(jobExecution.getJobInstance().getInstanceId())
+                .jobName(jobExecution.getJobInstance().getJobName())
+                .status(jobExecution.getStatus().name())
+                .exitCode(jobExecution.getExitStatus().getExitCode())
+                .createTime(jobExecution.getCreateTime())
+                .startTime(jobExecution.getStartTime())
+                .endTime(jobExecution.getEndTime())
+                .originalFilename(parameters.getString("original.filename"))
+                .fileSize(parameters.getLong("file.size"))
+                .submittedAt(parameters.getLong("timestamp"))
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.batch.BatchUploadStorage;
+import com.hasandag.exchange.conversion.batch.RejectFileStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "conversion.batch.retention.enabled", havingValue = "true", matchIfMissing = true)
+public class BatchMetadataRetentionService {
+
+    private static final List<String> FINISHED_STATUSES = List.of("COMPLETED", "FAILED", "STOPPED", "ABANDONED");
+
+    private static final String SELECT_EXPIRED_EXECUTIONS =
+            "SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION " +
+            "WHERE END_TIME < :cutoff AND STATUS IN (:statuses) " +
+            "ORDER BY JOB_EXECUTION_ID LIMIT :limit";
+
+    private static final String ARCHIVE_SUMMARIES =
+            "INSERT INTO batch_job_summary (job_execution_id, job_instance_id, job_name, status, exit_code, " +
+            "    create_time, start_time, end_time, original_filename, file_size, submitted_at, " +
+            "    read_count, write_count, commit_count, skip_count) " +
+            "SELECT e.JOB_EXECUTION_ID, i.JOB_INSTANCE_ID, i.JOB_NAME, e.STATUS, e.EXIT_CODE, " +
+            "    e.CREATE_TIME, e.START_TIME, e.END_TIME, " +
+            "    (SELECT p.PARAMETER_VALUE FROM BATCH_JOB_EXECUTION_PARAMS p " +
+            "      WHERE p.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID AND p.PARAMETER_NAME = 'original.filename'), " +
+            "    (SELECT CAST(p.PARAMETER_VALUE AS BIGINT) FROM BATCH_JOB_EXECUTION_PARAMS p " +
+            "      WHERE p.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID AND p.PARAMETER_NAME = 'file.size'), " +
+            "    (SELECT CAST(p.PARAMETER_VALUE AS BIGINT) FROM BATCH_JOB_EXECUTION_PARAMS p " +
+            "      WHERE p.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID AND p.PARAMETER_NAME = 'timestamp'), " +
+            "    COALESCE(SUM(s.READ_COUNT), 0), COALESCE(SUM(s.WRITE_COUNT), 0), COALESCE(SUM(s.COMMIT_COUNT), 0), " +
+            "    COALESCE(SUM(s.READ_SKIP_COUNT + s.PROCESS_SKIP_COUNT + s.WRITE_SKIP_COUNT), 0) " +
+            "FROM BATCH_JOB_EXECUTION e " +
+            "JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID " +
+            "LEFT JOIN BATCH_STEP_EXECUTION s ON s.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID " +
+            "WHERE e.JOB_EXECUTION_ID IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM batch_job_summary b WHERE b.job_execution_id = e.JOB_EXECUTION_ID) " +
+            "GROUP BY e.JOB_EXECUTION_ID, i.JOB_INSTANCE_ID, i.JOB_NAME, e.STATUS, e.EXIT_CODE, " +
+            "    e.CREATE_TIME, e.START_TIME, e.END_TIME";
+
+    private static final String SELECT_STAGED_FILES =
+            "SELECT PARAMETER_VALUE FROM BATCH_JOB_EXECUTION_PARAMS " +
+            "WHERE JOB_EXECUTION_ID IN (:ids) AND PARAMETER_NAME = 'file.path' " +
+            "AND NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION_PARAMS s WHERE s.JOB_EXECUTION_ID = BATCH_JOB_EXECUTION_PARAMS.JOB_EXECUTION_ID " +
+            "    AND s.PARAMETER_NAME = 'file.source' AND s.PARAMETER_VALUE = 'directory')";
+
+    private static final String SELECT_INSTANCE_IDS =
+            "SELECT DISTINCT JOB_INSTANCE_ID FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)";
+
+    private static final List<String> DELETE_EXECUTIONS = List.of(
+            "DELETE FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN " +
+            "    (SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids))",
+            "DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)",
+            "DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (:ids)",
+            "DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (:ids)",
+            "DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ids)"
+    );
+
+    private static final String DELETE_ORPHAN_INSTANCES =
+            "DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (:instanceIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = BATCH_JOB_INSTANCE.JOB_INSTANCE_ID)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchUploadStorage uploadStorage;
+    private final RejectFileStore rejectFileStore;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public BatchMetadataRetentionService(NamedParameterJdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         BatchUploadStorage uploadStorage,
+                                         RejectFileStore rejectFileStore,
+                                         @Value("${conversion.batch.retention.max-age-days:30}") int maxAgeDays,
+                                         @Value("${conversion.batch.retention.batch-size:200}") int batchSize,
+                                         @Value("${conversion.batch.retention.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.uploadStorage = uploadStorage;
+        this.rejectFileStore = rejectFileStore;
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${conversion.batch.retention.cron:0 30 2 * * *}")
+    public void pruneExpiredExecutions() {
+        try {
+            prune(LocalDateTime.now().minus(maxAge));
+        } catch (Exception e) {
+            log.error("Batch metadata pruning failed", e);
+        }
+    }
+
+    public long prune(LocalDateTime cutoff) {
+        long pruned = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_EXECUTIONS, new MapSqlParameterSource()
+                    .addValue("cutoff", Timestamp.valueOf(cutoff))
+                    .addValue("statuses", FINISHED_STATUSES)
+                    .addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            List<String> stagedFiles = transactionTemplate.execute(status -> archiveAndDelete(ids));
+            if (stagedFiles != null) {
+                stagedFiles.forEach(uploadStorage::delete);
+            }
+            ids.forEach(rejectFileStore::delete);
+            pruned += ids.size();
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (pruned > 0) {
+            log.info("Pruned {} batch job executions that ended before {}", pruned, cutoff);
+        }
+        return pruned;
+    }
+
+    private List<String> archiveAndDelete(List<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(ARCHIVE_SUMMARIES, params);
+
+        List<String> stagedFiles = jdbcTemplate.queryForList(SELECT_STAGED_FILES, params, String.class);
+        List<Long> instanceIds = jdbcTemplate.queryForList(SELECT_INSTANCE_IDS, params, Long.class);
+
+        for (String statement : DELETE_EXECUTIONS) {
+            jdbcTemplate.update(statement, params);
+        }
+        jdbcTemplate.update(DELETE_ORPHAN_INSTANCES, new MapSqlParameterSource("instanceIds", instanceIds));
+        return stagedFiles;
+    }
+}
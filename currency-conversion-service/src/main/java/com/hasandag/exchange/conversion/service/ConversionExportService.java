@@ -0,0 +1,144 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hasandag.exchange.conversion.model.ExportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+
+@Service
+@Slf4j
+public class ConversionExportService {
+
+    private static final String[] CSV_HEADER = {
+            "transactionId", "sourceCurrency", "targetCurrency",
+            "sourceAmount", "targetAmount", "exchangeRate", "timestamp"
+    };
+
+    private static final String EXPORT_QUERY =
+            "SELECT transaction_id, source_currency, target_currency, source_amount, target_amount, " +
+            "exchange_rate, timestamp FROM currency_conversions WHERE timestamp BETWEEN ? AND ? " +
+            "ORDER BY timestamp, id";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ConversionExportService(DataSource dataSource,
+                                   ObjectMapper objectMapper,
+                                   @Value("${conversion.export.fetch-size:5000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public ExportFormat resolveFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + ". Use csv or ndjson.");
+        }
+    }
+
+    public StreamingResponseBody streamConversions(LocalDate startDate, LocalDate endDate,
+                                                   ExportFormat format) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Query parameters invalid: Provide a valid date range (startDate and endDate).");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.atTime(LocalTime.MAX));
+
+        return outputStream -> {
+            long startedAt = System.nanoTime();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            long rows;
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(fetchSize);
+                    statement.setTimestamp(1, start);
+                    statement.setTimestamp(2, end);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        rows = format == ExportFormat.CSV
+                                ? writeCsv(resultSet, writer)
+                                : writeNdjson(resultSet, writer);
+                    }
+                } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                throw new IOException("Conversion export failed for " + startDate + ".." + endDate, e);
+            }
+            writer.flush();
+            log.info("Exported {} conversions between {} and {} as {} in {} ms",
+                    rows, startDate, endDate, format, (System.nanoTime() - startedAt) / 1_000_000);
+        };
+    }
+
+    private long writeCsv(ResultSet resultSet, Writer writer) throws SQLException, IOException {
+        CSVPrinter printer = CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build().print(writer);
+        long rows = 0;
+        while (resultSet.next()) {
+            printer.printRecord(
+                    resultSet.getString(1),
+                    resultSet.getString(2),
+                    resultSet.getString(3),
+                    resultSet.getBigDecimal(4),
+                    resultSet.getBigDecimal(5),
+                    resultSet.getBigDecimal(6),
+                    resultSet.getTimestamp(7).toLocalDateTime());
+            rows++;
+        }
+        printer.flush();
+        return rows;
+    }
+
+    private long writeNdjson(ResultSet resultSet, Writer writer) throws SQLException, IOException {
+        long rows = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(null);
+        while (resultSet.next()) {
+            generator.writeStartObject();
+            generator.writeStringField("transactionId", resultSet.getString(1));
+            generator.writeStringField("sourceCurrency", resultSet.getString(2));
+            generator.writeStringField("targetCurrency", resultSet.getString(3));
+            generator.writeFieldName("sourceAmount");
+            generator.writeNumber(resultSet.getBigDecimal(4));
+            generator.writeFieldName("targetAmount");
+            generator.writeNumber(resultSet.getBigDecimal(5));
+            generator.writeFieldName("exchangeRate");
+            generator.writeNumber(resultSet.getBigDecimal(6));
+            generator.writeStringField("timestamp", resultSet.getTimestamp(7).toLocalDateTime().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            rows++;
+        }
+        generator.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,269 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ConversionLookupCache {
+
+    private final boolean enabled;
+    private final Region<String, CurrencyConversionEntity> transactions;
+    private final Region<PageKey, CachedPage> pages;
+    private final AtomicLong projectionWatermark = new AtomicLong();
+    private final ConcurrentHashMap<LocalDate, DayWatermark> dayWatermarks = new ConcurrentHashMap<>();
+    private final long pageMaxAgeNanos;
+    private volatile long invalidationWatermark;
+    private volatile long prunedWatermark;
+    private volatile long lastPrunedAt = System.nanoTime();
+
+    public ConversionLookupCache(MeterRegistry meterRegistry,
+                                 @Value("${conversion.query.cache.enabled:true}") boolean enabled,
+                                 @Value("${conversion.query.cache.transaction-capacity:10000}") int transactionCapacity,
+                                 @Value("${conversion.query.cache.page-capacity:256}") int pageCapacity,
+                                 @Value("${conversion.query.cache.page-max-age-ms:30000}") long pageMaxAgeMs) {
+        this.enabled = enabled;
+        this.pageMaxAgeNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, pageMaxAgeMs));
+        this.transactions = new Region<>("transaction", transactionCapacity, meterRegistry);
+        this.pages = new Region<>("page", pageCapacity, meterRegistry);
+    }
+
+    public CurrencyConversionEntity getByTransactionId(String transactionId) {
+        if (!enabled) {
+            return null;
+        }
+        CurrencyConversionEntity cached = transactions.get(transactionId);
+        transactions.record(cached != null);
+        return cached;
+    }
+
+    public void putTransaction(CurrencyConversionEntity conversion) {
+        if (enabled && conversion.getId() != null) {
+            transactions.put(conversion.getTransactionId(), detached(conversion));
+        }
+    }
+
+    public long currentWatermark() {
+        return projectionWatermark.get();
+    }
+
+    public Page<CurrencyConversionEntity> getPage(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (!enabled) {
+            return null;
+        }
+        PageKey key = new PageKey(startDate, endDate, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        CachedPage cached = pages.get(key);
+        if (cached != null && (System.nanoTime() - cached.cachedAt() >= pageMaxAgeNanos
+                || changedSince(startDate, endDate, cached.watermark()))) {
+            pages.remove(key);
+            cached = null;
+        }
+        pages.record(cached != null);
+        return cached != null ? cached.page() : null;
+    }
+
+    public void putPage(LocalDate startDate, LocalDate endDate, Pageable pageable, Page<CurrencyConversionEntity> page, long watermark) {
+        if (enabled && !changedSince(startDate, endDate, watermark)) {
+            pages.put(new PageKey(startDate, endDate, pageable.getPageNumber(), pageable.getPageSize(),
+                    pageable.getSort().toString()), new CachedPage(page, watermark, System.nanoTime()));
+        }
+    }
+
+    public void onProjected(Collection<CurrencyConversionEntity> conversions) {
+        if (!enabled || conversions.isEmpty()) {
+            return;
+        }
+        List<CurrencyConversionEntity> projected = new ArrayList<>(conversions);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(projected);
+                }
+            });
+        } else {
+            apply(projected);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidationWatermark = projectionWatermark.incrementAndGet();
+        transactions.clear();
+        pages.clear();
+        dayWatermarks.clear();
+        log.info("Conversion lookup cache invalidated");
+    }
+
+    private void apply(List<CurrencyConversionEntity> projected) {
+        long now = System.nanoTime();
+        for (CurrencyConversionEntity conversion : projected) {
+            if (conversion.getId() == null || conversion.getTimestamp() == null) {
+                continue;
+            }
+            DayWatermark mark = new DayWatermark(projectionWatermark.incrementAndGet(), now);
+            dayWatermarks.merge(conversion.getTimestamp().toLocalDate(), mark,
+                    (current, next) -> next.watermark() > current.watermark() ? next : current);
+            transactions.put(conversion.getTransactionId(), detached(conversion));
+        }
+        pruneDayWatermarks(now);
+    }
+
+    private void pruneDayWatermarks(long now) {
+        if (now - lastPrunedAt < pageMaxAgeNanos) {
+            return;
+        }
+        synchronized (dayWatermarks) {
+            if (now - lastPrunedAt < pageMaxAgeNanos) {
+                return;
+            }
+            lastPrunedAt = now;
+            for (Map.Entry<LocalDate, DayWatermark> entry : dayWatermarks.entrySet()) {
+                DayWatermark mark = entry.getValue();
+                if (now - mark.updatedAt() >= pageMaxAgeNanos) {
+                    prunedWatermark = Math.max(prunedWatermark, mark.watermark());
+                    dayWatermarks.remove(entry.getKey(), mark);
+                }
+            }
+        }
+    }
+
+    private static CurrencyConversionEntity detached(CurrencyConversionEntity conversion) {
+        return CurrencyConversionEntity.builder()
+                .id(conversion.getId())
+                .transactionId(conversion.getTransactionId())
+                .sourceCurrency(conversion.getSourceCurrency())
+                .targetCurrency(conversion.getTargetCurrency())
+                .sourceAmount(conversion.getSourceAmount())
+                .targetAmount(conversion.getTargetAmount())
+                .exchangeRate(conversion.getExchangeRate())
+                .timestamp(conversion.getTimestamp())
+                .build();
+    }
+
+    private boolean changedSince(LocalDate startDate, LocalDate endDate, long watermark) {
+        if (watermark < invalidationWatermark || watermark < prunedWatermark) {
+            return true;
+        }
+        if (dayWatermarks.size() <= ChronoUnit.DAYS.between(startDate, endDate) + 1) {
+            for (Map.Entry<LocalDate, DayWatermark> entry : dayWatermarks.entrySet()) {
+                LocalDate day = entry.getKey();
+                if (!day.isBefore(startDate) && !day.isAfter(endDate) && entry.getValue().watermark() > watermark) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            DayWatermark dayWatermark = dayWatermarks.get(day);
+            if (dayWatermark != null && dayWatermark.watermark() > watermark) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record PageKey(LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize, String sort) {
+    }
+
+    private record CachedPage(Page<CurrencyConversionEntity> page, long watermark, long cachedAt) {
+    }
+
+    private record DayWatermark(long watermark, long updatedAt) {
+    }
+
+    private static final class Region<K, V> {
+
+        private final int capacity;
+        private final LinkedHashMap<K, V> entries;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        private Region(String name, int capacity, MeterRegistry meterRegistry) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > Region.this.capacity) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+            FunctionCounter.builder("conversion.query.cache.requests", hits, AtomicLong::get)
+                    .description("Conversion lookup cache requests")
+                    .tags("cache", name, "result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("conversion.query.cache.requests", misses, AtomicLong::get)
+                    .description("Conversion lookup cache requests")
+                    .tags("cache", name, "result", "miss")
+                    .register(meterRegistry);
+            FunctionCounter.builder("conversion.query.cache.evictions", evictions, AtomicLong::get)
+                    .description("Conversion lookup cache entries evicted by the size bound")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            Gauge.builder("conversion.query.cache.size", this, Region::size)
+                    .description("Conversion lookup cache entries")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            Gauge.builder("conversion.query.cache.hit.ratio", this, Region::hitRatio)
+                    .description("Share of conversion lookups served from the cache")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+        }
+
+        private synchronized V get(K key) {
+            return entries.get(key);
+        }
+
+        private void record(boolean hit) {
+            (hit ? hits : misses).incrementAndGet();
+        }
+
+        private synchronized void put(K key, V value) {
+            if (capacity > 0) {
+                entries.put(key, value);
+            }
+        }
+
+        private synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private double hitRatio() {
+            long hitCount = hits.get();
+            long total = hitCount + misses.get();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+}
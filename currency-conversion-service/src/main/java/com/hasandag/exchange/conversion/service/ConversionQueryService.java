@@ -1,5 +1,6 @@
 package com.hasandag.exchange.conversion.service;
 
+import com.hasandag.exchange.conversion.model.ConversionHistorySlice;
 import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,4 +11,6 @@ import java.time.LocalDate;
 public interface ConversionQueryService {
 
     Page<CurrencyConversionEntity> findConversions(String transactionId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    ConversionHistorySlice findConversionsByCursor(LocalDate startDate, LocalDate endDate, String cursor, int size, String count);
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.CurrencyPairVolume;
+import com.hasandag.exchange.conversion.model.CurrencyPairVolumeStats;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class ConversionStatsService {
+
+    private static final Pattern PAIR_PATTERN = Pattern.compile("^([A-Za-z]{3})[-/_]?([A-Za-z]{3})$");
+
+    private final CurrencyPairVolumeRollupRepository rollupRepository;
+    private final int maxRangeDays;
+
+    public ConversionStatsService(CurrencyPairVolumeRollupRepository rollupRepository,
+                                  @Value("${conversion.stats.max-range-days:366}") int maxRangeDays) {
+        this.rollupRepository = rollupRepository;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    public CurrencyPairVolumeStats getVolumeStats(String pair, String granularity, LocalDate from, LocalDate to) {
+        String resolvedGranularity = resolveGranularity(granularity);
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Query parameters invalid: Provide a valid date range (from and to).");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date " + from + " is after to date " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxRangeDays) {
+            throw new IllegalArgumentException("Date range exceeds the maximum of " + maxRangeDays + " days");
+        }
+
+        String sourceCurrency = null;
+        String targetCurrency = null;
+        if (pair != null && !pair.isBlank()) {
+            Matcher matcher = PAIR_PATTERN.matcher(pair.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid currency pair: " + pair + ". Use a format like USD-EUR.");
+            }
+            sourceCurrency = matcher.group(1).toUpperCase(Locale.ROOT);
+            targetCurrency = matcher.group(2).toUpperCase(Locale.ROOT);
+        }
+
+        List<CurrencyPairVolume> buckets = rollupRepository.find(resolvedGranularity,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), sourceCurrency, targetCurrency);
+
+        CurrencyPairVolumeStats.CurrencyPairVolumeStatsBuilder stats = CurrencyPairVolumeStats.builder()
+                .granularity(resolvedGranularity)
+                .from(from)
+                .to(to)
+                .buckets(buckets);
+        if (sourceCurrency != null) {
+            stats.pair(sourceCurrency + "-" + targetCurrency)
+                    .totalConversions(buckets.stream().mapToLong(CurrencyPairVolume::getConversionCount).sum())
+                    .totalSourceVolume(buckets.stream().map(CurrencyPairVolume::getSourceVolume).reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .totalTargetVolume(buckets.stream().map(CurrencyPairVolume::getTargetVolume).reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+        return stats.build();
+    }
+
+    private static String resolveGranularity(String granularity) {
+        String resolved = granularity == null ? "" : granularity.trim().toUpperCase(Locale.ROOT);
+        if (!CurrencyPairVolumeRollupRepository.HOUR.equals(resolved) && !CurrencyPairVolumeRollupRepository.DAY.equals(resolved)) {
+            throw new IllegalArgumentException("Unsupported granularity: " + granularity + ". Use hour or day.");
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadLetterReplayService {
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final ConsumerFactory<String, Object> eventConsumerFactory;
+    private final ConsumerFactory<String, Object> commandConsumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final int defaultMaxRecords;
+    private final long pollTimeoutMs;
+
+    public DeadLetterReplayService(
+            @Qualifier("conversionEventConsumerFactory") ConsumerFactory<String, Object> eventConsumerFactory,
+            @Qualifier("conversionCommandConsumerFactory") ConsumerFactory<String, Object> commandConsumerFactory,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${conversion.kafka.dlt-replay.max-records:1000}") int defaultMaxRecords,
+            @Value("${conversion.kafka.dlt-replay.poll-timeout-ms:1000}") long pollTimeoutMs) {
+        this.eventConsumerFactory = eventConsumerFactory;
+        this.commandConsumerFactory = commandConsumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.defaultMaxRecords = defaultMaxRecords;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    public Map<String, Object> replay(String stream, Integer maxRecords) {
+        Map<String, Object> response = new HashMap<>();
+        String dltTopic;
+        String targetTopic;
+        ConsumerFactory<String, Object> consumerFactory;
+        switch (stream) {
+            case "events" -> {
+                dltTopic = KafkaConstants.CONVERSION_EVENT_DLT_TOPIC;
+                targetTopic = KafkaConstants.CONVERSION_EVENT_TOPIC;
+                consumerFactory = eventConsumerFactory;
+            }
+            case "commands" -> {
+                dltTopic = KafkaConstants.CONVERSION_COMMAND_DLT_TOPIC;
+                targetTopic = KafkaConstants.CONVERSION_COMMAND_TOPIC;
+                consumerFactory = commandConsumerFactory;
+            }
+            default -> {
+                response.put("error", "Unknown dead-letter stream: " + stream + " (expected 'events' or 'commands')");
+                response.put("httpStatus", 400);
+                return response;
+            }
+        }
+
+        int limit = maxRecords != null && maxRecords > 0 ? maxRecords : defaultMaxRecords;
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.min(limit, 500));
+
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(
+                KafkaConstants.DLT_REPLAY_GROUP, null, "-" + stream, overrides)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(dltTopic);
+            List<TopicPartition> partitions = partitionInfos == null ? List.of() : partitionInfos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            int replayed = 0;
+            long backlog = 0;
+            Map<TopicPartition, Long> blocked = new HashMap<>();
+
+            if (!partitions.isEmpty()) {
+                consumer.assign(partitions);
+                Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+                for (TopicPartition partition : partitions) {
+                    backlog += Math.max(0, endOffsets.get(partition) - consumer.position(partition));
+                }
+
+                while (replayed < limit && replayed < backlog && blocked.size() < partitions.size()) {
+                    ConsumerRecords<String, Object> records = consumer.poll(Duration.ofMillis(pollTimeoutMs));
+                    if (records.isEmpty()) {
+                        break;
+                    }
+                    List<CompletableFuture<?>> sends = new ArrayList<>();
+                    Map<TopicPartition, OffsetAndMetadata> processed = new HashMap<>();
+                    for (ConsumerRecord<String, Object> record : records) {
+                        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                        if (blocked.containsKey(partition) || record.offset() >= endOffsets.get(partition) || replayed >= limit) {
+                            continue;
+                        }
+                        if (record.value() == null) {
+                            blocked.put(partition, record.offset());
+                            consumer.pause(List.of(partition));
+                            continue;
+                        }
+                        sends.add(kafkaTemplate.send(targetTopic, record.key(), record.value()));
+                        replayed++;
+                        processed.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    }
+                    CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    if (!processed.isEmpty()) {
+                        consumer.commitSync(processed);
+                    }
+                }
+            }
+
+            blocked.forEach((partition, offset) -> log.warn(
+                    "Replay of {} stopped at offset {}: the record cannot be deserialized and was left uncommitted",
+                    partition, offset));
+            log.info("Replayed {} records from {} to {} ({} partitions blocked by undeserializable records)",
+                    replayed, dltTopic, targetTopic, blocked.size());
+            response.put("stream", stream);
+            response.put("dltTopic", dltTopic);
+            response.put("targetTopic", targetTopic);
+            response.put("replayed", replayed);
+            response.put("blockedPartitions", blocked.entrySet().stream()
+                    .map(entry -> entry.getKey() + "@" + entry.getValue())
+                    .sorted()
+                    .toList());
+            response.put("remaining", Math.max(0, backlog - replayed));
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.put("error", "Replay of " + dltTopic + " was interrupted");
+            response.put("httpStatus", 500);
+            return response;
+        } catch (Exception e) {
+            log.error("Failed to replay dead-letter topic {}", dltTopic, e);
+            response.put("error", "Failed to replay " + dltTopic + ": " + e.getMessage());
+            response.put("httpStatus", 500);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.hasandag.exchange.conversion.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "conversion.read-model.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadModelPartitionMaintenanceService {
+
+    private static final String IS_PARTITIONED =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('currency_conversions'))";
+    private static final String CREATE_PARTITIONS = "SELECT create_currency_conversion_partitions(?, ?)";
+    private static final String DROP_EXPIRED_PARTITIONS = "SELECT drop_expired_currency_conversion_partitions(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConversionLookupCache lookupCache;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public ReadModelPartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                                ConversionLookupCache lookupCache,
+                                                @Value("${conversion.read-model.partitioning.months-ahead:3}") int monthsAhead,
+                                                @Value("${conversion.read-model.partitioning.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lookupCache = lookupCache;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${conversion.read-model.partitioning.cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!isPartitioned()) {
+                log.debug("Read Model (PostgreSQL) table currency_conversions is not partitioned, skipping partition maintenance");
+                return;
+            }
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Read-model partition maintenance failed", e);
+        }
+    }
+
+    public void maintain(LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        Integer created = jdbcTemplate.queryForObject(CREATE_PARTITIONS, Integer.class,
+                Date.valueOf(currentMonth), Date.valueOf(currentMonth.plusMonths(monthsAhead)));
+        if (created != null && created > 0) {
+            log.info("Created {} monthly currency_conversions partitions up to {}", created, currentMonth.plusMonths(monthsAhead));
+        }
+
+        if (retentionMonths > 0) {
+            LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+            Integer dropped = jdbcTemplate.queryForObject(DROP_EXPIRED_PARTITIONS, Integer.class, Date.valueOf(cutoff));
+            if (dropped != null && dropped > 0) {
+                lookupCache.invalidateAll();
+                log.info("Detached and dropped {} currency_conversions partitions ending before {}", dropped, cutoff);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+        } catch (Exception e) {
+            log.debug("Could not inspect currency_conversions partitioning: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,571 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "spring.data.mongodb.enabled", havingValue = "true", matchIfMissing = true)
+public class ReadModelRebuildService implements DisposableBean {
+
+    private static final String TABLE = "currency_conversions";
+    private static final String SHADOW_SUFFIX = "_rebuild";
+    private static final String SHADOW_TABLE = TABLE + SHADOW_SUFFIX;
+    private static final String COLUMNS =
+            "transaction_id, source_currency, target_currency, source_amount, target_amount, exchange_rate, timestamp";
+    private static final String COPY_SQL = "COPY " + SHADOW_TABLE + " (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INDEX_DEFINITIONS_SQL =
+            "SELECT i.relname, pg_get_indexdef(i.oid), c.conname, " +
+            "CASE WHEN c.contype IN ('p', 'u') THEN pg_get_constraintdef(c.oid) END " +
+            "FROM pg_index x " +
+            "JOIN pg_class i ON i.oid = x.indexrelid " +
+            "LEFT JOIN pg_constraint c ON c.conindid = x.indexrelid AND c.conrelid = x.indrelid " +
+            "WHERE x.indrelid = '" + TABLE + "'::regclass";
+    private static final String PARTITION_KEY_SQL = "SELECT pg_get_partkeydef('" + TABLE + "'::regclass)";
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) " +
+            "FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = '" + TABLE + "'::regclass";
+    private static final String ROLLUP_TABLE = CurrencyPairVolumeRollupRepository.TABLE;
+    private static final String ROLLUP_SHADOW_TABLE = ROLLUP_TABLE + SHADOW_SUFFIX;
+    private static final String ROLLUP_PRIMARY_KEY = "pk_currency_pair_volume_rollups";
+    private static final String ROLLUP_INDEX = "idx_rollups_granularity_bucket";
+    private static final String CATCH_UP_SQL =
+            "WITH caught_up AS (INSERT INTO " + SHADOW_TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM " + TABLE +
+            " WHERE id > ? ON CONFLICT (transaction_id, timestamp) DO NOTHING RETURNING " + COLUMNS + "), " +
+            "rolled_up AS (" + CurrencyPairVolumeRollupRepository.aggregateInto(ROLLUP_SHADOW_TABLE, "caught_up") + ") " +
+            "SELECT COUNT(*) FROM caught_up";
+    private static final String CLAIM_TRANSACTION_IDS_SQL =
+            "INSERT INTO conversion_transaction_ids (transaction_id) SELECT transaction_id FROM " + SHADOW_TABLE +
+            " ON CONFLICT DO NOTHING";
+    private static final String WATERMARK_LOCK_SQL = "LOCK TABLE " + TABLE + " IN SHARE MODE";
+    private static final String WATERMARK_SQL = "SELECT COALESCE(MAX(id), 0) FROM " + TABLE;
+    private static final Bson PROJECTION = Projections.include("transaction_id", "source_currency", "target_currency",
+            "source_amount", "target_amount", "exchange_rate", "timestamp");
+    private static final Bson PROJECTED_STATUSES = Filters.nin("status", "PENDING", "FAILED");
+    private static final long PROGRESS_LOG_INTERVAL = 1_000_000;
+
+    private final MongoOperations mongoOperations;
+    private final DataSource dataSource;
+    private final ConversionLookupCache lookupCache;
+    private final int parallelism;
+    private final int pageSize;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "read-model-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<RebuildRun> current = new AtomicReference<>();
+
+    public ReadModelRebuildService(MongoOperations mongoOperations,
+                                   DataSource dataSource,
+                                   ConversionLookupCache lookupCache,
+                                   @Value("${conversion.read-model.rebuild.parallelism:4}") int parallelism,
+                                   @Value("${conversion.read-model.rebuild.page-size:5000}") int pageSize) {
+        this.mongoOperations = mongoOperations;
+        this.dataSource = dataSource;
+        this.lookupCache = lookupCache;
+        this.parallelism = Math.max(1, parallelism);
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public synchronized Map<String, Object> startRebuild() {
+        RebuildRun previous = current.get();
+        if (previous != null && previous.finishedAt == null) {
+            Map<String, Object> response = previous.toMap();
+            response.put("error", "A read-model rebuild is already running");
+            response.put("httpStatus", 409);
+            return response;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("error", "Read-model rebuild requires a PostgreSQL read model");
+                response.put("httpStatus", 501);
+                return response;
+            }
+        } catch (SQLException e) {
+            log.error("Failed to connect to Read Model (PostgreSQL) for rebuild", e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Failed to connect to read model: " + e.getMessage());
+            response.put("httpStatus", 503);
+            return response;
+        }
+
+        RebuildRun run = new RebuildRun(UUID.randomUUID().toString(), Instant.now());
+        current.set(run);
+        runner.execute(() -> rebuild(run));
+        log.info("Started read-model rebuild {} with {} parallel ranges", run.runId, parallelism);
+        return run.toMap();
+    }
+
+    public Map<String, Object> getStatus() {
+        RebuildRun run = current.get();
+        if (run == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "No read-model rebuild has been started");
+            response.put("httpStatus", 404);
+            return response;
+        }
+        return run.toMap();
+    }
+
+    private void rebuild(RebuildRun run) {
+        try {
+            MongoCollection<Document> collection = mongoOperations.getCollection(
+                    mongoOperations.getCollectionName(CurrencyConversionDocument.class));
+            run.estimatedTotal = collection.estimatedDocumentCount();
+            List<IndexDefinition> indexes = loadIndexDefinitions();
+            List<PartitionDefinition> partitions = createShadowTable();
+            long watermark = readWatermark();
+
+            List<IdRange> ranges = splitIdRange(collection);
+            run.rangesTotal = ranges.size();
+            run.phase = Phase.COPYING;
+            if (ranges.isEmpty()) {
+                log.warn("Write Model (MongoDB) is empty, read-model rebuild {} will swap in an empty table", run.runId);
+            } else {
+                ExecutorService copyPool = Executors.newFixedThreadPool(ranges.size());
+                try {
+                    CompletableFuture.allOf(ranges.stream()
+                            .map(range -> CompletableFuture.runAsync(() -> copyRange(collection, range, run), copyPool))
+                            .toArray(CompletableFuture[]::new)).join();
+                } finally {
+                    copyPool.shutdownNow();
+                }
+            }
+
+            run.phase = Phase.INDEXING;
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                for (IndexDefinition index : indexes) {
+                    if (index.constraintDefinition() != null) {
+                        statement.execute("ALTER TABLE " + SHADOW_TABLE + " ADD CONSTRAINT " + index.shadowName() + " "
+                                + index.constraintDefinition());
+                    } else {
+                        statement.execute(index.shadowDefinition());
+                    }
+                }
+                statement.execute("ANALYZE " + SHADOW_TABLE);
+                statement.executeUpdate(CLAIM_TRANSACTION_IDS_SQL);
+
+                statement.execute("DROP TABLE IF EXISTS " + ROLLUP_SHADOW_TABLE);
+                statement.execute("CREATE TABLE " + ROLLUP_SHADOW_TABLE + " (LIKE " + ROLLUP_TABLE + " INCLUDING DEFAULTS)");
+                statement.execute("ALTER TABLE " + ROLLUP_SHADOW_TABLE + " ADD CONSTRAINT " + ROLLUP_PRIMARY_KEY + SHADOW_SUFFIX
+                        + " PRIMARY KEY (granularity, source_currency, target_currency, bucket_start)");
+                run.rollupsRecomputed = statement.executeUpdate(
+                        CurrencyPairVolumeRollupRepository.aggregateInto(ROLLUP_SHADOW_TABLE, SHADOW_TABLE));
+                statement.execute("CREATE INDEX " + ROLLUP_INDEX + SHADOW_SUFFIX + " ON " + ROLLUP_SHADOW_TABLE
+                        + " (granularity, bucket_start)");
+            }
+
+            run.phase = Phase.SWAPPING;
+            swap(indexes, partitions, watermark, run);
+            lookupCache.invalidateAll();
+            run.finish(Phase.COMPLETED, null);
+            log.info("Read-model rebuild {} completed: {} rows copied, {} skipped, {} caught up in {} ms ({} rows/s)",
+                    run.runId, run.rowsCopied.get(), run.rowsSkipped.get(), run.rowsCaughtUp,
+                    run.elapsedMs(), run.rowsPerSecond());
+        } catch (Exception e) {
+            Throwable cause = e instanceof java.util.concurrent.CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Read-model rebuild {} failed during {}", run.runId, run.phase, cause);
+            run.finish(Phase.FAILED, cause.getMessage());
+            dropShadowTable();
+        }
+    }
+
+    private List<PartitionDefinition> createShadowTable() throws SQLException {
+        List<PartitionDefinition> partitions = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            String partitionKey;
+            try (ResultSet resultSet = statement.executeQuery(PARTITION_KEY_SQL)) {
+                partitionKey = resultSet.next() ? resultSet.getString(1) : null;
+            }
+            if (partitionKey != null) {
+                try (ResultSet resultSet = statement.executeQuery(PARTITIONS_SQL)) {
+                    while (resultSet.next()) {
+                        partitions.add(new PartitionDefinition(resultSet.getString(1), resultSet.getString(2)));
+                    }
+                }
+            }
+
+            statement.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+            statement.execute("CREATE TABLE " + SHADOW_TABLE + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                    + (partitionKey != null ? " PARTITION BY " + partitionKey : ""));
+            for (PartitionDefinition partition : partitions) {
+                statement.execute("CREATE TABLE " + partition.shadowName() + " PARTITION OF " + SHADOW_TABLE + " " + partition.bound());
+            }
+        }
+        return partitions;
+    }
+
+    private long readWatermark() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(WATERMARK_LOCK_SQL);
+                try (ResultSet resultSet = statement.executeQuery(WATERMARK_SQL)) {
+                    return resultSet.next() ? resultSet.getLong(1) : 0;
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private List<IdRange> splitIdRange(MongoCollection<Document> collection) {
+        Document first = collection.find().projection(Projections.include("_id")).sort(Sorts.ascending("_id")).first();
+        Document last = collection.find().projection(Projections.include("_id")).sort(Sorts.descending("_id")).first();
+        if (first == null || last == null) {
+            return List.of();
+        }
+        if (!(first.get("_id") instanceof ObjectId firstId) || !(last.get("_id") instanceof ObjectId lastId)) {
+            return List.of(new IdRange(null, null));
+        }
+
+        long low = firstId.getTimestamp() & 0xFFFFFFFFL;
+        long high = (lastId.getTimestamp() & 0xFFFFFFFFL) + 1;
+        int rangeCount = (int) Math.min(parallelism, high - low);
+        List<IdRange> ranges = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            ObjectId lower = i == 0 ? null : boundary(low + (high - low) * i / rangeCount);
+            ObjectId upper = i == rangeCount - 1 ? null : boundary(low + (high - low) * (i + 1) / rangeCount);
+            ranges.add(new IdRange(lower, upper));
+        }
+        return ranges;
+    }
+
+    private static ObjectId boundary(long epochSeconds) {
+        return new ObjectId(String.format("%08x0000000000000000", epochSeconds));
+    }
+
+    private void copyRange(MongoCollection<Document> collection, IdRange range, RebuildRun run) {
+        long startedAt = System.nanoTime();
+        long copied = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                Object lastId = null;
+                StringBuilder csv = new StringBuilder(pageSize * 128);
+                while (true) {
+                    List<Bson> filters = new ArrayList<>(3);
+                    filters.add(PROJECTED_STATUSES);
+                    if (lastId != null) {
+                        filters.add(Filters.gt("_id", lastId));
+                    } else if (range.lower() != null) {
+                        filters.add(Filters.gte("_id", range.lower()));
+                    }
+                    if (range.upper() != null) {
+                        filters.add(Filters.lt("_id", range.upper()));
+                    }
+                    List<Document> page = collection.find(Filters.and(filters))
+                            .projection(PROJECTION)
+                            .sort(Sorts.ascending("_id"))
+                            .limit(pageSize)
+                            .batchSize(pageSize)
+                            .into(new ArrayList<>(pageSize));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+
+                    csv.setLength(0);
+                    int rows = 0;
+                    for (Document document : page) {
+                        if (appendCsvRow(csv, document)) {
+                            rows++;
+                        } else {
+                            run.rowsSkipped.incrementAndGet();
+                        }
+                    }
+                    byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                    copied += rows;
+                    lastId = page.get(page.size() - 1).get("_id");
+
+                    long read = run.rowsRead.addAndGet(page.size());
+                    run.rowsCopied.addAndGet(rows);
+                    if ((read - page.size()) / PROGRESS_LOG_INTERVAL != read / PROGRESS_LOG_INTERVAL) {
+                        log.info("Read-model rebuild {}: {} of ~{} documents read ({} rows/s)",
+                                run.runId, read, run.estimatedTotal, run.rowsPerSecond());
+                    }
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                }
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into " + SHADOW_TABLE + " failed for range " + range, e);
+        }
+        run.rangesCompleted.incrementAndGet();
+        log.info("Read-model rebuild {}: range {} copied {} rows in {} ms",
+                run.runId, range, copied, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    private static boolean appendCsvRow(StringBuilder csv, Document document) {
+        String transactionId = document.getString("transaction_id");
+        String sourceCurrency = document.getString("source_currency");
+        String targetCurrency = document.getString("target_currency");
+        String sourceAmount = decimal(document.get("source_amount"));
+        String targetAmount = decimal(document.get("target_amount"));
+        String exchangeRate = decimal(document.get("exchange_rate"));
+        Object timestamp = document.get("timestamp");
+        if (transactionId == null || sourceCurrency == null || targetCurrency == null
+                || sourceAmount == null || targetAmount == null || exchangeRate == null
+                || !(timestamp instanceof Date date)) {
+            return false;
+        }
+
+        appendCsvValue(csv, transactionId).append(',');
+        appendCsvValue(csv, sourceCurrency).append(',');
+        appendCsvValue(csv, targetCurrency).append(',');
+        csv.append(sourceAmount).append(',')
+                .append(targetAmount).append(',')
+                .append(exchangeRate).append(',')
+                .append(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()))
+                .append('\n');
+        return true;
+    }
+
+    private static String decimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Decimal128 decimal ? decimal.bigDecimalValue().toPlainString() : value.toString();
+    }
+
+    private static StringBuilder appendCsvValue(StringBuilder csv, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return csv.append(value);
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private List<IndexDefinition> loadIndexDefinitions() throws SQLException {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(INDEX_DEFINITIONS_SQL)) {
+            while (resultSet.next()) {
+                String constraintDefinition = resultSet.getString(4);
+                indexes.add(new IndexDefinition(resultSet.getString(1), resultSet.getString(2),
+                        constraintDefinition != null ? resultSet.getString(3) : null, constraintDefinition));
+            }
+        }
+        return indexes;
+    }
+
+    private void swap(List<IndexDefinition> indexes, List<PartitionDefinition> partitions, long watermark,
+                      RebuildRun run) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+
+                try (PreparedStatement catchUp = connection.prepareStatement(CATCH_UP_SQL)) {
+                    catchUp.setLong(1, watermark);
+                    try (ResultSet resultSet = catchUp.executeQuery()) {
+                        run.rowsCaughtUp = resultSet.next() ? resultSet.getLong(1) : 0;
+                    }
+                }
+
+                String sequence = null;
+                try (ResultSet resultSet = statement.executeQuery("SELECT pg_get_serial_sequence('" + TABLE + "', 'id')")) {
+                    if (resultSet.next()) {
+                        sequence = resultSet.getString(1);
+                    }
+                }
+                if (sequence != null) {
+                    statement.execute("ALTER SEQUENCE " + sequence + " OWNED BY NONE");
+                }
+
+                statement.execute("DROP TABLE " + TABLE);
+                statement.execute("ALTER TABLE " + SHADOW_TABLE + " RENAME TO " + TABLE);
+                for (PartitionDefinition partition : partitions) {
+                    statement.execute("ALTER TABLE " + partition.shadowName() + " RENAME TO " + partition.name());
+                }
+                for (IndexDefinition index : indexes) {
+                    if (index.constraintName() != null) {
+                        statement.execute("ALTER TABLE " + TABLE + " RENAME CONSTRAINT "
+                                + index.shadowName() + " TO " + index.constraintName());
+                    } else {
+                        statement.execute("ALTER INDEX " + index.shadowName() + " RENAME TO " + index.name());
+                    }
+                }
+                if (sequence != null) {
+                    statement.execute("ALTER SEQUENCE " + sequence + " OWNED BY " + TABLE + ".id");
+                }
+                statement.execute("DROP TABLE " + ROLLUP_TABLE);
+                statement.execute("ALTER TABLE " + ROLLUP_SHADOW_TABLE + " RENAME TO " + ROLLUP_TABLE);
+                statement.execute("ALTER TABLE " + ROLLUP_TABLE + " RENAME CONSTRAINT "
+                        + ROLLUP_PRIMARY_KEY + SHADOW_SUFFIX + " TO " + ROLLUP_PRIMARY_KEY);
+                statement.execute("ALTER INDEX " + ROLLUP_INDEX + SHADOW_SUFFIX + " RENAME TO " + ROLLUP_INDEX);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void dropShadowTable() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+            statement.execute("DROP TABLE IF EXISTS " + ROLLUP_SHADOW_TABLE);
+        } catch (SQLException e) {
+            log.warn("Failed to drop {} and {} after a failed rebuild: {}", SHADOW_TABLE, ROLLUP_SHADOW_TABLE, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        runner.shutdownNow();
+    }
+
+    private enum Phase {
+        PREPARING, COPYING, INDEXING, SWAPPING, COMPLETED, FAILED
+    }
+
+    private record IdRange(ObjectId lower, ObjectId upper) {
+
+        @Override
+        public String toString() {
+            return "[" + (lower != null ? lower.toHexString() : "-inf") + ", "
+                    + (upper != null ? upper.toHexString() : "+inf") + ")";
+        }
+    }
+
+    private record PartitionDefinition(String name, String bound) {
+
+        String shadowName() {
+            return name.startsWith(TABLE + "_") ? SHADOW_TABLE + name.substring(TABLE.length()) : name + SHADOW_SUFFIX;
+        }
+    }
+
+    private record IndexDefinition(String name, String definition, String constraintName, String constraintDefinition) {
+
+        private static final Pattern TARGET = Pattern.compile(" ON (?:ONLY )?((?:\\S+\\.)?)" + TABLE + " ");
+
+        String shadowName() {
+            return name + SHADOW_SUFFIX;
+        }
+
+        String shadowDefinition() {
+            String renamed = definition.replaceFirst("INDEX " + Pattern.quote(name) + " ON ",
+                    Matcher.quoteReplacement("INDEX " + shadowName() + " ON "));
+            return TARGET.matcher(renamed).replaceFirst(" ON $1" + SHADOW_TABLE + " ");
+        }
+    }
+
+    private static final class RebuildRun {
+
+        private final String runId;
+        private final Instant startedAt;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsCopied = new AtomicLong();
+        private final AtomicLong rowsSkipped = new AtomicLong();
+        private final AtomicInteger rangesCompleted = new AtomicInteger();
+        private volatile Phase phase = Phase.PREPARING;
+        private volatile long estimatedTotal;
+        private volatile int rangesTotal;
+        private volatile long rowsCaughtUp;
+        private volatile long rollupsRecomputed;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private RebuildRun(String runId, Instant startedAt) {
+            this.runId = runId;
+            this.startedAt = startedAt;
+        }
+
+        private void finish(Phase phase, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.phase = phase;
+        }
+
+        private long elapsedMs() {
+            return Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+        }
+
+        private long rowsPerSecond() {
+            long elapsedMs = elapsedMs();
+            return elapsedMs > 0 ? rowsRead.get() * 1000 / elapsedMs : 0;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> status = new HashMap<>();
+            status.put("runId", runId);
+            status.put("phase", phase.name());
+            status.put("startedAt", startedAt);
+            status.put("finishedAt", finishedAt);
+            status.put("elapsedMs", elapsedMs());
+            status.put("estimatedTotal", estimatedTotal);
+            status.put("rowsRead", rowsRead.get());
+            status.put("rowsCopied", rowsCopied.get());
+            status.put("rowsSkipped", rowsSkipped.get());
+            status.put("rowsCaughtUp", rowsCaughtUp);
+            status.put("rollupsRecomputed", rollupsRecomputed);
+            status.put("rangesCompleted", rangesCompleted.get());
+            status.put("rangesTotal", rangesTotal);
+            status.put("rowsPerSecond", rowsPerSecond());
+            status.put("percentComplete", phase == Phase.COMPLETED ? 100.0
+                    : estimatedTotal > 0 ? Math.min(99.9, Math.round(rowsRead.get() * 1000.0 / estimatedTotal) / 10.0) : 0.0);
+            if (error != null) {
+                status.put("failureReason", error);
+            }
+            return status;
+        }
+    }
+}
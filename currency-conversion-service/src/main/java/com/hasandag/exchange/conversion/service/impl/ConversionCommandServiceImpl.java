@@ -3,15 +3,17 @@ package com.hasandag.exchange.conversion.service.impl;
 import com.hasandag.exchange.common.dto.ConversionRequest;
 import com.hasandag.exchange.common.dto.ConversionResponse;
 import com.hasandag.exchange.common.dto.ExchangeRateResponse;
-import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
 import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
 import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.model.OutboxEntry;
+import com.hasandag.exchange.conversion.repository.command.ConversionGroupCommitWriter;
 import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
 import com.hasandag.exchange.conversion.service.ConversionCommandService;
 import com.hasandag.exchange.conversion.service.ConversionValidationService;
 import com.hasandag.exchange.conversion.service.ExchangeRateProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +22,10 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
@@ -29,16 +35,22 @@ public class ConversionCommandServiceImpl implements ConversionCommandService {
     private final ConversionEventProducer eventProducer;
     private final ConversionValidationService validationService;
     private final CurrencyConversionMongoRepository mongoRepository;
+    private final ConversionGroupCommitWriter groupCommitWriter;
+    private final long writeTimeoutMs;
 
     public ConversionCommandServiceImpl(
             ExchangeRateProvider exchangeRateProvider,
             @Autowired(required = false) ConversionEventProducer eventProducer,
             ConversionValidationService validationService,
-            @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository) {
+            @Autowired(required = false) CurrencyConversionMongoRepository mongoRepository,
+            @Autowired(required = false) ConversionGroupCommitWriter groupCommitWriter,
+            @Value("${conversion.write.group-commit.write-timeout-ms:5000}") long writeTimeoutMs) {
         this.exchangeRateProvider = exchangeRateProvider;
         this.eventProducer = eventProducer;
         this.validationService = validationService;
         this.mongoRepository = mongoRepository;
+        this.groupCommitWriter = groupCommitWriter;
+        this.writeTimeoutMs = writeTimeoutMs;
     }
 
     @Override
@@ -60,9 +72,7 @@ public class ConversionCommandServiceImpl implements ConversionCommandService {
         String transactionId = UUID.randomUUID().toString();
         LocalDateTime timestamp = LocalDateTime.now();
 
-        CurrencyConversionDocument savedDocument = saveToWriteModel(request, targetAmount, rateResponse.getRate(), transactionId, timestamp);
-        
-        publishConversionEvent(savedDocument);
+        saveToWriteModel(request, targetAmount, rateResponse.getRate(), transactionId, timestamp);
 
         return buildResponse(request, targetAmount, rateResponse.getRate(), transactionId, timestamp);
     }
@@ -74,54 +84,64 @@ public class ConversionCommandServiceImpl implements ConversionCommandService {
             throw new RuntimeException("Write Model (MongoDB) is unavailable - cannot process conversion");
         }
         
-        try {
-            if (mongoRepository.existsByTransactionId(transactionId)) {
-                log.debug("Transaction already exists in Write Model: {}", transactionId);
-                return mongoRepository.findByTransactionId(transactionId).orElseThrow();
-            }
-            
-            CurrencyConversionDocument document = CurrencyConversionDocument.builder()
-                    .transactionId(transactionId)
-                    .sourceCurrency(request.getSourceCurrency())
-                    .targetCurrency(request.getTargetCurrency())
-                    .sourceAmount(request.getSourceAmount())
-                    .targetAmount(targetAmount)
-                    .exchangeRate(exchangeRate)
-                    .timestamp(timestamp)
-                    .status("COMPLETED")
-                    .build();
+        CurrencyConversionDocument document = CurrencyConversionDocument.builder()
+                .transactionId(transactionId)
+                .sourceCurrency(request.getSourceCurrency())
+                .targetCurrency(request.getTargetCurrency())
+                .sourceAmount(request.getSourceAmount())
+                .targetAmount(targetAmount)
+                .exchangeRate(exchangeRate)
+                .timestamp(timestamp)
+                .status("COMPLETED")
+                .outbox(outboxEntry(timestamp))
+                .build();
 
-            CurrencyConversionDocument saved = mongoRepository.save(document);
+        try {
+            CurrencyConversionDocument saved = groupCommitWriter != null && groupCommitWriter.isRunning()
+                    ? awaitGroupCommit(groupCommitWriter.write(document))
+                    : mongoRepository.insert(document);
             log.debug("Saved conversion to Write Model (MongoDB): {}", transactionId);
             return saved;
-            
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DuplicateKeyException) {
+                log.debug("Duplicate detected in MongoDB (handled gracefully): {}", transactionId);
+                return mongoRepository.findByTransactionId(transactionId).orElseThrow();
+            }
+            log.error("Failed to save to Write Model (MongoDB): {} - {}", transactionId, e.getCause().getMessage());
+            throw new RuntimeException("Failed to persist conversion to Write Model", e.getCause());
         } catch (DuplicateKeyException e) {
             log.debug("Duplicate detected in MongoDB (handled gracefully): {}", transactionId);
             return mongoRepository.findByTransactionId(transactionId).orElseThrow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while persisting conversion to Write Model", e);
         } catch (Exception e) {
             log.error("Failed to save to Write Model (MongoDB): {} - {}", transactionId, e.getMessage());
             throw new RuntimeException("Failed to persist conversion to Write Model", e);
         }
     }
 
-    private void publishConversionEvent(CurrencyConversionDocument document) {
-        if (eventProducer != null) {
-            ConversionEvent event = ConversionEvent.builder()
-                    .transactionId(document.getTransactionId())
-                    .sourceCurrency(document.getSourceCurrency())
-                    .targetCurrency(document.getTargetCurrency())
-                    .sourceAmount(document.getSourceAmount())
-                    .targetAmount(document.getTargetAmount())
-                    .exchangeRate(document.getExchangeRate())
-                    .timestamp(document.getTimestamp())
-                    .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
-                    .build();
+    private CurrencyConversionDocument awaitGroupCommit(CompletableFuture<CurrencyConversionDocument> write)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            return write.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (write.cancel(false)) {
+                throw e;
+            }
+            return write.get();
+        }
+    }
 
-            eventProducer.sendConversionEvent(event);
-            log.debug("Published conversion event: {}", document.getTransactionId());
-        } else {
-            log.warn("Event producer not available - CQRS event not published");
+    private OutboxEntry outboxEntry(LocalDateTime timestamp) {
+        if (eventProducer == null) {
+            log.warn("Event producer not available - CQRS event will not be published");
+            return null;
         }
+        return OutboxEntry.builder()
+                .eventId(UUID.randomUUID().toString())
+                .createdAt(timestamp)
+                .build();
     }
 
     private ConversionResponse buildResponse(ConversionRequest request, BigDecimal targetAmount, 
@@ -1,7 +1,10 @@
 package com.hasandag.exchange.conversion.service.impl;
 
+import com.hasandag.exchange.conversion.model.ConversionHistorySlice;
 import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
 import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import com.hasandag.exchange.conversion.service.ConversionHistoryCursor;
+import com.hasandag.exchange.conversion.service.ConversionLookupCache;
 import com.hasandag.exchange.conversion.service.ConversionQueryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,17 +16,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Service
 @Slf4j
 public class ConversionQueryServiceImpl implements ConversionQueryService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String COUNT_NONE = "none";
+    private static final String COUNT_ESTIMATE = "estimate";
+    private static final String COUNT_EXACT = "exact";
+
     private final CurrencyConversionPostgresRepository repository;
+    private final ConversionLookupCache lookupCache;
 
-    public ConversionQueryServiceImpl(CurrencyConversionPostgresRepository repository) {
+    public ConversionQueryServiceImpl(CurrencyConversionPostgresRepository repository,
+                                      ConversionLookupCache lookupCache) {
         this.repository = repository;
+        this.lookupCache = lookupCache;
     }
 
     @Override
@@ -32,8 +45,13 @@ public class ConversionQueryServiceImpl implements ConversionQueryService {
 
         if (transactionId != null) {
             log.debug("Querying by transaction ID: {}", transactionId);
+            CurrencyConversionEntity cached = lookupCache.getByTransactionId(transactionId);
+            if (cached != null) {
+                return new PageImpl<>(Collections.singletonList(cached), pageable, 1);
+            }
             Optional<CurrencyConversionEntity> entityOptional = repository.findByTransactionId(transactionId);
             if (entityOptional.isPresent()) {
+                lookupCache.putTransaction(entityOptional.get());
                 return new PageImpl<>(Collections.singletonList(entityOptional.get()), pageable, 1);
             }
             throw new NoSuchElementException("Conversion not found for transaction ID: " + transactionId);
@@ -45,16 +63,82 @@ public class ConversionQueryServiceImpl implements ConversionQueryService {
                 log.warn("Start date {} is after end date {}. Returning empty page.", startDate, endDate);
                 return getEmptyConversionsPage(pageable);
             }
+            Page<CurrencyConversionEntity> cached = lookupCache.getPage(startDate, endDate, pageable);
+            if (cached != null) {
+                return cached;
+            }
+            long watermark = lookupCache.currentWatermark();
             LocalDateTime startDateTime = startDate.atStartOfDay();
             LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
             
-            return repository.findByTimestampBetweenOrderByTimestampDesc(startDateTime, endDateTime, pageable);
+            Page<CurrencyConversionEntity> page = repository.findByTimestampBetweenOrderByTimestampDesc(startDateTime, endDateTime, pageable);
+            lookupCache.putPage(startDate, endDate, pageable, page, watermark);
+            return page;
         }
 
         log.warn("No valid query parameters provided (transactionId or date range).");
         throw new IllegalArgumentException("Query parameters invalid: Provide a transactionId or a valid date range (startDate and endDate).");
     }
 
+    @Override
+    public ConversionHistorySlice findConversionsByCursor(LocalDate startDate, LocalDate endDate, String cursor, int size, String count) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Query parameters invalid: Provide a valid date range (startDate and endDate).");
+        }
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        String countMode = count == null ? COUNT_NONE : count.toLowerCase();
+        if (!COUNT_NONE.equals(countMode) && !COUNT_ESTIMATE.equals(countMode) && !COUNT_EXACT.equals(countMode)) {
+            throw new IllegalArgumentException("Unknown count mode: " + count + " (expected 'none', 'estimate' or 'exact')");
+        }
+        ConversionHistoryCursor after = cursor == null || cursor.isBlank() ? null : ConversionHistoryCursor.decode(cursor);
+
+        if (startDate.isAfter(endDate)) {
+            log.warn("Start date {} is after end date {}. Returning empty slice.", startDate, endDate);
+            return ConversionHistorySlice.builder()
+                    .content(Collections.emptyList())
+                    .size(size)
+                    .countMode(countMode)
+                    .totalElements(COUNT_NONE.equals(countMode) ? null : 0L)
+                    .build();
+        }
+        LocalDateTime startDateTime = startDate.atStartOfDay();
+        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
+        log.debug("Querying by date range with cursor: Start: {}, End: {}, After: {}", startDate, endDate, after);
+
+        List<CurrencyConversionEntity> rows = repository.findHistoryPage(startDateTime, endDateTime,
+                after != null ? after.timestamp() : null, after != null ? after.id() : null, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<CurrencyConversionEntity> content = hasNext ? rows.subList(0, size) : rows;
+        CurrencyConversionEntity last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        Long totalElements = switch (countMode) {
+            case COUNT_EXACT -> repository.countByTimestampBetween(startDateTime, endDateTime);
+            case COUNT_ESTIMATE -> estimateCount(startDateTime, endDateTime);
+            default -> null;
+        };
+
+        return ConversionHistorySlice.builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new ConversionHistoryCursor(last.getTimestamp(), last.getId()).encode() : null)
+                .countMode(countMode)
+                .totalElements(totalElements)
+                .build();
+    }
+
+    private Long estimateCount(LocalDateTime start, LocalDateTime end) {
+        try {
+            OptionalLong estimate = repository.estimateCountBetween(start, end);
+            return estimate.isPresent() ? estimate.getAsLong() : null;
+        } catch (Exception e) {
+            log.debug("Could not estimate history count from planner statistics: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private Page<CurrencyConversionEntity> getEmptyConversionsPage(Pageable pageable) {
         log.debug("Returning empty conversions page");
         return new PageImpl<>(Collections.emptyList(), pageable, 0);
@@ -0,0 +1,63 @@
+package com.hasandag.exchange.conversion.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.repeat.RepeatContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveChunkSizePolicyTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void growsTowardTargetWhenCommitsAreFastAndShrinksOnErrors() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(100, 20, 1000, 1000);
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(1L));
+        policy.beforeStep(stepExecution);
+
+        policy.onCommit(100 * MILLIS, 100);
+        assertThat(policy.getChunkSize()).isEqualTo(200);
+
+        for (int i = 0; i < 10; i++) {
+            policy.onCommit(policy.getChunkSize() * MILLIS, policy.getChunkSize());
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(1000);
+
+        policy.onError();
+        assertThat(policy.getChunkSize()).isEqualTo(500);
+
+        for (int i = 0; i < 20; i++) {
+            policy.onCommit(policy.getChunkSize() * 50 * MILLIS, policy.getChunkSize());
+        }
+        assertThat(policy.getChunkSize()).isEqualTo(20);
+
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.CURRENT_SIZE_KEY)).isEqualTo(20);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.MAX_CHOSEN_KEY)).isEqualTo(1000);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.MIN_CHOSEN_KEY)).isEqualTo(20);
+    }
+
+    @Test
+    void completesChunkAtSizeChosenWhenItStarted() {
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(2, 1, 10, 1000);
+
+        RepeatContext context = policy.start(null);
+        policy.onError();
+        policy.update(context);
+        assertThat(policy.isComplete(context)).isFalse();
+        policy.update(context);
+        assertThat(policy.isComplete(context)).isTrue();
+    }
+
+    @Test
+    void resumesSizeFromExecutionContextOnRestart() {
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(1L));
+        stepExecution.getExecutionContext().putInt(AdaptiveChunkSizePolicy.CURRENT_SIZE_KEY, 640);
+
+        AdaptiveChunkSizePolicy policy = new AdaptiveChunkSizePolicy(100, 20, 1000, 1000);
+        policy.beforeStep(stepExecution);
+
+        assertThat(policy.getChunkSize()).isEqualTo(640);
+    }
+}
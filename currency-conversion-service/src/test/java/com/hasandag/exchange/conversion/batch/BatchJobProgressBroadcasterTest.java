@@ -0,0 +1,105 @@
+package com.hasandag.exchange.conversion.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchJobProgressBroadcasterTest {
+
+    private final BatchJobProgressBroadcaster broadcaster = new BatchJobProgressBroadcaster(60_000, 1);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void chunkThreadsDoNotWaitForSlowSubscribers() throws Exception {
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(7L));
+        RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(1));
+        broadcaster.beforeStep(stepExecution);
+        broadcaster.subscribe(7L, slow);
+
+        long started = System.nanoTime();
+        for (int chunk = 1; chunk <= 5; chunk++) {
+            stepExecution.setWriteCount(chunk * 100L);
+            broadcaster.afterChunk(new ChunkContext(new StepContext(stepExecution)));
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(broadcaster.latest(7L)).get().extracting(BatchJobProgress::writeCount).isEqualTo(500L);
+
+        stepExecution.setExitStatus(ExitStatus.COMPLETED);
+        broadcaster.afterStep(stepExecution);
+        slow.release.countDown();
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.received.size()).isLessThan(7);
+        assertThat(slow.received.get(slow.received.size() - 1).status()).isEqualTo("COMPLETED");
+        assertThat(slow.received.get(slow.received.size() - 1).writeCount()).isEqualTo(500L);
+    }
+
+    @Test
+    void lateSubscribersReceiveTheFinalProgressOfFinishedJobs() throws Exception {
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(8L));
+        stepExecution.setWriteCount(42);
+        stepExecution.setExitStatus(ExitStatus.FAILED);
+        broadcaster.beforeStep(stepExecution);
+        broadcaster.afterStep(stepExecution);
+        RecordingEmitter late = new RecordingEmitter(new CountDownLatch(0));
+
+        broadcaster.subscribe(8L, late);
+
+        assertThat(broadcaster.isTracked(8L)).isTrue();
+        assertThat(broadcaster.isTracked(9L)).isFalse();
+        assertThat(late.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(late.received).singleElement()
+                .satisfies(progress -> {
+                    assertThat(progress.status()).isEqualTo("FAILED");
+                    assertThat(progress.writeCount()).isEqualTo(42L);
+                });
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final List<BatchJobProgress> received = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof BatchJobProgress)
+                    .forEach(data -> received.add((BatchJobProgress) data.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
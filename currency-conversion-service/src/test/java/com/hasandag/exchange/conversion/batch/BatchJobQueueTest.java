@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class BatchJobQueueTest {
+
+    @Test
+    void dispatchesRoundRobinAcrossSubmitters() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BatchJobQueue queue = new BatchJobQueue(mock(JobRepository.class), mock(BatchJobSummaryService.class), meterRegistry, 10, 1, "node-1");
+        List<String> started = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(4);
+
+        try {
+            queue.enqueue("alice", () -> {
+                started.add("alice-1");
+                await(release);
+                finished.countDown();
+            });
+            for (String job : List.of("alice-2", "alice-3", "bob-1")) {
+                queue.enqueue(job.substring(0, job.indexOf('-')), () -> {
+                    started.add(job);
+                    finished.countDown();
+                });
+            }
+
+            assertThat(queue.getQueuedCount()).isEqualTo(3);
+            assertThat(meterRegistry.get("batch.job.queue.depth").gauge().value()).isEqualTo(3.0);
+
+            release.countDown();
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(started).containsExactly("alice-1", "alice-2", "bob-1", "alice-3");
+            assertThat(meterRegistry.get("batch.job.queue.wait").timer().count()).isEqualTo(4);
+        } finally {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    void rejectsJobsBeyondCapacity() throws Exception {
+        BatchJobQueue queue = new BatchJobQueue(mock(JobRepository.class), mock(BatchJobSummaryService.class), new SimpleMeterRegistry(), 1, 1, "node-1");
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            queue.enqueue("alice", () -> await(release));
+            queue.enqueue("alice", () -> { });
+
+            assertThat(queue.hasCapacity()).isFalse();
+            assertThatThrownBy(() -> queue.enqueue("bob", () -> { }))
+                    .isInstanceOf(TaskRejectedException.class);
+        } finally {
+            release.countDown();
+            queue.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
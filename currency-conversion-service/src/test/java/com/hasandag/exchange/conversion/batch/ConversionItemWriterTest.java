@@ -0,0 +1,90 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.common.dto.ConversionResponse;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
+import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.repository.command.BulkInsertResult;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.item.Chunk;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversionItemWriterTest {
+
+    private final CurrencyConversionMongoRepository repository = mock(CurrencyConversionMongoRepository.class);
+    private final ConversionEventProducer producer = mock(ConversionEventProducer.class);
+    private final ConversionItemWriter writer = new ConversionItemWriter(repository, producer, 7L);
+
+    @Test
+    void publishesEventsOnlyForInsertedRows() {
+        when(repository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversionDocument> documents = invocation.getArgument(0);
+            return new BulkInsertResult(List.of(documents.get(0), documents.get(2)), List.of(documents.get(1)));
+        });
+
+        writer.write(new Chunk<>(response("TX-1"), response("TX-2"), response("TX-3")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ConversionEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(producer).sendConversionEventsAndAwait(events.capture());
+        assertThat(events.getValue()).extracting(ConversionEvent::getTransactionId).containsExactly("TX-1", "TX-3");
+    }
+
+    @Test
+    void publishesNothingWhenEveryRowWasAlreadyStored() {
+        when(repository.insertAllUnordered(anyList())).thenAnswer(invocation ->
+                new BulkInsertResult(List.of(), invocation.getArgument(0)));
+
+        writer.write(new Chunk<>(response("TX-1"), response("TX-2")));
+
+        verify(producer, never()).sendConversionEventsAndAwait(anyList());
+    }
+
+    @Test
+    void republishesRowsStoredByAnAttemptWhosePublishFailed() {
+        when(repository.insertAllUnordered(anyList()))
+                .thenAnswer(invocation -> new BulkInsertResult(invocation.getArgument(0), List.of()))
+                .thenAnswer(invocation -> new BulkInsertResult(List.of(), invocation.getArgument(0)));
+        doThrow(new EventPublishException("broker unavailable")).doNothing()
+                .when(producer).sendConversionEventsAndAwait(anyList());
+        Chunk<ConversionResponse> chunk = new Chunk<>(response("TX-1"), response("TX-2"));
+
+        assertThatThrownBy(() -> writer.write(chunk)).isInstanceOf(EventPublishException.class);
+        writer.write(chunk);
+        writer.write(chunk);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ConversionEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(producer, times(2)).sendConversionEventsAndAwait(events.capture());
+        assertThat(events.getAllValues().get(1)).extracting(ConversionEvent::getTransactionId)
+                .containsExactly("TX-1", "TX-2");
+    }
+
+    private static ConversionResponse response(String transactionId) {
+        return ConversionResponse.builder()
+                .transactionId(transactionId)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("92.00"))
+                .exchangeRate(new BigDecimal("0.92"))
+                .timestamp(LocalDateTime.of(2026, 10, 18, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.hasandag.exchange.conversion.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DirectoryIngestionWatcherTest {
+
+    private final Job job = mock(Job.class);
+    private final BatchJobQueue batchJobQueue = mock(BatchJobQueue.class);
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+
+    @TempDir
+    Path inbox;
+
+    private DirectoryIngestionWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (String dir : new String[]{"processing", "done", "failed"}) {
+            Files.createDirectories(inbox.resolve(dir));
+        }
+        when(job.getName()).thenReturn("bulkConversionJob");
+        watcher = new DirectoryIngestionWatcher(job, batchJobQueue, jobExplorer, inbox.toString(), 1, 30_000, 1_000);
+    }
+
+    @Test
+    void claimsSettledFilesIntoProcessingBeforeLaunching() throws Exception {
+        Path file = settledFile("rates.csv");
+        Files.writeString(inbox.resolve("fresh.csv"), "sourceAmount,sourceCurrency,targetCurrency\n");
+        when(batchJobQueue.launch(anyString(), any(), any())).thenAnswer(invocation -> {
+            JobParameters parameters = invocation.getArgument(2);
+            assertThat(Path.of(parameters.getString("file.path"))).exists().hasParent(inbox.resolve("processing"));
+            return execution(1L, parameters, BatchStatus.STARTING);
+        });
+
+        watcher.scan();
+
+        assertThat(file).doesNotExist();
+        assertThat(inbox.resolve("fresh.csv")).exists();
+        assertThat(Files.list(inbox.resolve("processing"))).hasSize(1);
+        verify(batchJobQueue).launch(anyString(), any(), any());
+    }
+
+    @Test
+    void jobThatFinishesBeforeLaunchReturnsFreesItsSlot() throws Exception {
+        settledFile("first.csv");
+        when(batchJobQueue.launch(anyString(), any(), any())).thenAnswer(invocation -> {
+            JobExecution finished = execution(1L, invocation.getArgument(2), BatchStatus.COMPLETED);
+            watcher.onJobFinished(finished);
+            return finished;
+        });
+
+        watcher.scan();
+        settledFile("second.csv");
+        watcher.scan();
+
+        verify(batchJobQueue, times(2)).launch(anyString(), any(), any());
+        assertThat(Files.list(inbox.resolve("done"))).hasSize(2);
+        assertThat(Files.list(inbox.resolve("processing"))).isEmpty();
+    }
+
+    @Test
+    void rejectedLaunchReturnsFileToInboxAndFreesItsSlot() throws Exception {
+        Path file = settledFile("rates.csv");
+        when(batchJobQueue.launch(anyString(), any(), any()))
+                .thenThrow(new TaskRejectedException("Job queue is full"))
+                .thenAnswer(invocation -> execution(2L, invocation.getArgument(2), BatchStatus.STARTING));
+
+        watcher.scan();
+
+        assertThat(file).exists();
+        assertThat(Files.list(inbox.resolve("processing"))).isEmpty();
+
+        watcher.scan();
+
+        assertThat(file).doesNotExist();
+        verify(batchJobQueue, times(2)).launch(anyString(), any(), any());
+    }
+
+    @Test
+    void movesFinishedFilesToDoneOrFailed() throws Exception {
+        Path completed = Files.writeString(inbox.resolve("processing").resolve("1-ok.csv"), "");
+        Path failed = Files.writeString(inbox.resolve("processing").resolve("2-bad.csv"), "");
+
+        watcher.onJobFinished(execution(1L, directoryParameters(completed), BatchStatus.COMPLETED));
+        watcher.onJobFinished(execution(2L, directoryParameters(failed), BatchStatus.FAILED));
+
+        assertThat(inbox.resolve("done").resolve("1-ok.csv")).exists();
+        assertThat(inbox.resolve("failed").resolve("2-bad.csv")).exists();
+        assertThat(Files.list(inbox.resolve("processing"))).isEmpty();
+    }
+
+    @Test
+    void movesClaimsLeftByACrashToFailed() throws Exception {
+        Path processing = inbox.resolve("processing");
+        Path unlaunched = Files.writeString(processing.resolve("1000-unlaunched.csv"), "");
+        Path interrupted = Files.writeString(processing.resolve("1001-interrupted.csv"), "");
+        Path queued = Files.writeString(processing.resolve("1002-queued.csv"), "");
+        Path elsewhere = Files.writeString(processing.resolve("1003-elsewhere.csv"), "");
+        Path justClaimed = Files.writeString(processing.resolve(System.currentTimeMillis() + "-new.csv"), "");
+        JobExecution interruptedExecution = execution(1L, directoryParameters(interrupted), BatchStatus.STARTED);
+        JobExecution queuedExecution = execution(2L, directoryParameters(queued), BatchStatus.STARTING);
+        JobExecution remoteExecution = execution(3L, directoryParameters(elsewhere), BatchStatus.STARTED);
+        when(jobExplorer.findRunningJobExecutions("bulkConversionJob"))
+                .thenReturn(Set.of(interruptedExecution, queuedExecution, remoteExecution));
+        when(batchJobQueue.isOwnedByThisInstance(interruptedExecution)).thenReturn(true);
+        when(batchJobQueue.isOwnedByThisInstance(queuedExecution)).thenReturn(true);
+        when(batchJobQueue.isOwnedByThisInstance(remoteExecution)).thenReturn(false);
+
+        watcher.recoverOrphanedClaims();
+
+        assertThat(inbox.resolve("failed").resolve("1000-unlaunched.csv")).exists();
+        assertThat(inbox.resolve("failed").resolve("1001-interrupted.csv")).exists();
+        assertThat(unlaunched).doesNotExist();
+        assertThat(queued).exists();
+        assertThat(elsewhere).exists();
+        assertThat(justClaimed).exists();
+    }
+
+    private Path settledFile(String name) throws Exception {
+        Path file = Files.writeString(inbox.resolve(name), "sourceAmount,sourceCurrency,targetCurrency\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+        return file;
+    }
+
+    private static JobParameters directoryParameters(Path file) {
+        return new JobParametersBuilder()
+                .addString("file.path", file.toString())
+                .addString(DirectoryIngestionWatcher.SOURCE_PARAMETER, DirectoryIngestionWatcher.SOURCE_DIRECTORY)
+                .toJobParameters();
+    }
+
+    private static JobExecution execution(Long id, JobParameters parameters, BatchStatus status) {
+        JobExecution execution = new JobExecution(new JobInstance(id, "bulkConversionJob"), id, parameters);
+        execution.setStatus(status);
+        return execution;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueuedJobRecoveryTest {
+
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    private final Job job = mock(Job.class);
+    private final BatchJobQueue batchJobQueue = mock(BatchJobQueue.class);
+    private final BatchJobSummaryService jobSummaryService = mock(BatchJobSummaryService.class);
+
+    @SuppressWarnings("unchecked")
+    private final QueuedJobRecovery recovery = new QueuedJobRecovery(jobExplorer, jobRepository, List.of(job),
+            batchJobQueue, jobSummaryService, new BatchUploadStorage("unused"), mock(ObjectProvider.class));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void requeuesOwnedStartingExecutionsWhoseInputStillExists() throws Exception {
+        Path staged = Files.writeString(tempDir.resolve("upload.csv"), "sourceAmount,sourceCurrency,targetCurrency\n");
+        JobExecution queued = execution(1L, staged.toString(), BatchStatus.STARTING);
+        JobExecution running = execution(2L, staged.toString(), BatchStatus.STARTED);
+        when(job.getName()).thenReturn("bulkConversionJob");
+        when(jobExplorer.findRunningJobExecutions("bulkConversionJob")).thenReturn(Set.of(queued, running));
+        when(batchJobQueue.isOwnedByThisInstance(any())).thenReturn(true);
+
+        recovery.recoverQueuedJobs();
+
+        verify(batchJobQueue).resume(job, queued);
+        verify(batchJobQueue, never()).resume(job, running);
+        verify(jobRepository, never()).update(any(JobExecution.class));
+    }
+
+    @Test
+    void failsOwnedStartingExecutionsWhoseInputIsGone() {
+        JobExecution queued = execution(1L, tempDir.resolve("missing.csv").toString(), BatchStatus.STARTING);
+        when(job.getName()).thenReturn("bulkConversionJob");
+        when(jobExplorer.findRunningJobExecutions("bulkConversionJob")).thenReturn(Set.of(queued));
+        when(batchJobQueue.isOwnedByThisInstance(queued)).thenReturn(true);
+
+        recovery.recoverQueuedJobs();
+
+        assertThat(queued.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(queued.getEndTime()).isNotNull();
+        verify(jobRepository).update(queued);
+        verify(jobSummaryService).recordJobFinished(queued);
+        verify(batchJobQueue, never()).resume(any(), any());
+    }
+
+    @Test
+    void leavesExecutionsQueuedByOtherInstancesAlone() {
+        JobExecution queued = execution(1L, tempDir.resolve("missing.csv").toString(), BatchStatus.STARTING);
+        when(job.getName()).thenReturn("bulkConversionJob");
+        when(jobExplorer.findRunningJobExecutions("bulkConversionJob")).thenReturn(Set.of(queued));
+        when(batchJobQueue.isOwnedByThisInstance(queued)).thenReturn(false);
+
+        recovery.recoverQueuedJobs();
+
+        assertThat(queued.getStatus()).isEqualTo(BatchStatus.STARTING);
+        verify(jobRepository, never()).update(any(JobExecution.class));
+    }
+
+    private static JobExecution execution(Long id, String filePath, BatchStatus status) {
+        JobExecution execution = new JobExecution(new JobInstance(id, "bulkConversionJob"), id,
+                new JobParametersBuilder().addString("file.path", filePath).toJobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+}
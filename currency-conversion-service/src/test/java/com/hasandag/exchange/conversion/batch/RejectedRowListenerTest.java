@@ -0,0 +1,58 @@
+package com.hasandag.exchange.conversion.batch;
+
+import com.hasandag.exchange.common.dto.ConversionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectedRowListenerTest {
+
+    @TempDir
+    Path rejectDir;
+
+    @Test
+    void writesEveryRejectedRowToTheRejectFile() throws Exception {
+        RejectFileStore rejectFileStore = new RejectFileStore(rejectDir.toString());
+        RejectedRowListener listener = new RejectedRowListener(rejectFileStore, 7L);
+
+        listener.onSkipInRead(new RejectedRowException(2, "Invalid sourceAmount: abc", "abc", "USD", "EUR"));
+        listener.onSkipInProcess(new CsvConversionRequest(new BigDecimal("10"), "USD", "XXX", 3),
+                new IllegalArgumentException("Unknown currency"));
+        listener.recordProcessReject(new CsvConversionRequest(new BigDecimal("5"), "GBP", "XXX", 4), "Unknown currency");
+        listener.onSkipInWrite(ConversionResponse.builder()
+                .transactionId("TX-1")
+                .sourceAmount(new BigDecimal("1"))
+                .sourceCurrency("EUR")
+                .targetCurrency("USD")
+                .build(), new IllegalStateException("Duplicate key"));
+        listener.afterStep(stepExecution());
+
+        assertThat(Files.readAllLines(rejectFileStore.find(7L).orElseThrow())).containsExactly(
+                "line,stage,reason,sourceAmount,sourceCurrency,targetCurrency,transactionId",
+                "2,read,Invalid sourceAmount: abc,abc,USD,EUR,",
+                "3,process,Unknown currency,10,USD,XXX,",
+                "4,process,Unknown currency,5,GBP,XXX,",
+                ",write,Duplicate key,1,EUR,USD,TX-1");
+    }
+
+    @Test
+    void createsNoRejectFileWhenNothingWasSkipped() {
+        RejectFileStore rejectFileStore = new RejectFileStore(rejectDir.toString());
+        RejectedRowListener listener = new RejectedRowListener(rejectFileStore, 7L);
+
+        listener.afterStep(stepExecution());
+
+        assertThat(rejectFileStore.find(7L)).isEmpty();
+    }
+
+    private static StepExecution stepExecution() {
+        return new StepExecution("conversionStep", new JobExecution(7L));
+    }
+}
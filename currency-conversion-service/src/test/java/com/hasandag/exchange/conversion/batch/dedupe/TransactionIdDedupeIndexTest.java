@@ -0,0 +1,71 @@
+package com.hasandag.exchange.conversion.batch.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionIdDedupeIndexTest {
+
+    @Test
+    void transactionIdRoundTripsThroughKey() {
+        long key = 0xA1B2C3D4E5F60718L;
+
+        String transactionId = TransactionIdDedupeIndex.toTransactionId(key);
+
+        assertThat(transactionId).isEqualTo("BATCH-A1B2C3D4E5F60718");
+        assertThat(TransactionIdDedupeIndex.toKey(transactionId)).hasValue(key);
+        assertThat(TransactionIdDedupeIndex.toKey("BATCH-USD-EUR-10000-29000000")).isEqualTo(OptionalLong.empty());
+        assertThat(TransactionIdDedupeIndex.toKey("3f2c7a52-1b7e-4a7c-9d0e-5c1f7a9e2b11")).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    void markSeenDetectsRepeatsAcrossResizes() {
+        TransactionIdDedupeIndex index = new TransactionIdDedupeIndex(4, null);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            assertThat(index.markSeen(keys[i])).isTrue();
+        }
+
+        for (long key : keys) {
+            assertThat(index.markSeen(key)).isFalse();
+        }
+        assertThat(index.markSeen(0L)).isTrue();
+        assertThat(index.markSeen(0L)).isFalse();
+        assertThat(index.seenCount()).isEqualTo(keys.length + 1);
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        LongBloomFilter filter = new LongBloomFilter(5_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] persisted = new long[5_000];
+        for (int i = 0; i < persisted.length; i++) {
+            persisted[i] = random.nextLong();
+            filter.put(persisted[i]);
+        }
+        TransactionIdDedupeIndex index = new TransactionIdDedupeIndex(16, filter);
+
+        for (long key : persisted) {
+            assertThat(index.mightBePersisted(key)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (index.mightBePersisted(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void emptyWriteModelNeverRequiresDatabaseLookup() {
+        TransactionIdDedupeIndex index = new TransactionIdDedupeIndex(16, null);
+
+        assertThat(index.mightBePersisted(123L)).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.common.dto.ExchangeRateResponse;
+import com.hasandag.exchange.conversion.batch.CsvConversionRequest;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndex;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndexFactory;
+import com.hasandag.exchange.conversion.client.ExchangeRateFeignClient;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RemoteChunkWorkerTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final ExchangeRateFeignClient exchangeRateFeignClient = mock(ExchangeRateFeignClient.class);
+    private final TransactionIdDedupeIndexFactory dedupeIndexFactory = mock(TransactionIdDedupeIndexFactory.class);
+    private final JobExplorer jobExplorer = mock(JobExplorer.class);
+    private final RemoteChunkWorker worker = new RemoteChunkWorker(exchangeRateFeignClient,
+            mock(CurrencyConversionPostgresRepository.class), null, null, kafkaTemplate, dedupeIndexFactory,
+            jobExplorer, 1_000, 3);
+
+    @BeforeEach
+    void setUp() {
+        when(exchangeRateFeignClient.getExchangeRate(anyString(), anyString())).thenReturn(
+                ExchangeRateResponse.builder().rate(new BigDecimal("1.10")).build());
+        when(dedupeIndexFactory.create(anyInt())).thenAnswer(invocation -> new TransactionIdDedupeIndex(1_000, null));
+    }
+
+    @Test
+    void reusesOneDedupeIndexAcrossChunksOfTheSameJob() {
+        worker.onChunkRequest(new ChunkRequest(1L, 2L, 1, List.of(request("100"), request("200"))));
+        worker.onChunkRequest(new ChunkRequest(1L, 2L, 2, List.of(request("100"))));
+
+        ArgumentCaptor<ChunkReply> replies = ArgumentCaptor.forClass(ChunkReply.class);
+        verify(kafkaTemplate, times(2)).send(eq(KafkaConstants.BATCH_CHUNK_REPLY_TOPIC), eq("2"), replies.capture());
+        assertThat(replies.getAllValues()).extracting(ChunkReply::writeCount, ChunkReply::filterCount)
+                .containsExactly(tuple(2, 0), tuple(0, 1));
+        verify(dedupeIndexFactory, times(1)).create(1_000);
+        assertThat(worker.cachedDedupeIndexCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheDedupeIndexWhenTheJobFinishes() {
+        worker.onChunkRequest(new ChunkRequest(1L, 2L, 1, List.of(request("100"))));
+        worker.onChunkRequest(new ChunkRequest(3L, 4L, 1, List.of(request("100"))));
+
+        worker.onJobFinished(new JobExecution(1L));
+
+        assertThat(worker.cachedDedupeIndexCount()).isEqualTo(1);
+
+        JobExecution finished = new JobExecution(3L);
+        finished.setStatus(BatchStatus.COMPLETED);
+        when(jobExplorer.getJobExecution(3L)).thenReturn(finished);
+        worker.evictFinishedJobs();
+
+        assertThat(worker.cachedDedupeIndexCount()).isZero();
+    }
+
+    @Test
+    void keepsTheDedupeIndexOfRunningJobs() {
+        worker.onChunkRequest(new ChunkRequest(1L, 2L, 1, List.of(request("100"))));
+        JobExecution running = new JobExecution(1L);
+        running.setStatus(BatchStatus.STARTED);
+        when(jobExplorer.getJobExecution(1L)).thenReturn(running);
+
+        worker.evictFinishedJobs();
+
+        assertThat(worker.cachedDedupeIndexCount()).isEqualTo(1);
+    }
+
+    private static ConversionRequest request(String amount) {
+        return new CsvConversionRequest(new BigDecimal(amount), "USD", "EUR", 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.conversion.batch.CsvConversionItemReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RemoteChunkWriterTest {
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final RemoteChunkReplyRegistry replyRegistry = mock(RemoteChunkReplyRegistry.class);
+    private final AtomicInteger readerPosition = new AtomicInteger();
+    private final StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(1L));
+
+    @Test
+    void commitsReaderPositionOnlyUpToLastChunkAcknowledgedInOrder() {
+        ChunkRequest first = new ChunkRequest(1L, 2L, 1, List.of());
+        ChunkRequest second = new ChunkRequest(1L, 2L, 2, List.of());
+        CompletableFuture<ChunkReply> firstReply = CompletableFuture.completedFuture(ChunkReply.failure(first, "boom"));
+        CompletableFuture<ChunkReply> secondReply = CompletableFuture.completedFuture(
+                ChunkReply.success(second, 1, 0, List.of()));
+        when(replyRegistry.register(2L, 1)).thenReturn(firstReply);
+        when(replyRegistry.register(2L, 2)).thenReturn(secondReply);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        stepExecution.setId(2L);
+        ExecutionContext executionContext = new ExecutionContext();
+        RemoteChunkWriter writer = new RemoteChunkWriter(kafkaTemplate, replyRegistry, readerPosition::get, null,
+                4, 1_000, 1_000, 10);
+        writer.beforeStep(stepExecution);
+        writer.open(executionContext);
+
+        readerPosition.set(1);
+        writer.write(Chunk.of(request()));
+        readerPosition.set(2);
+        writer.write(Chunk.of(request()));
+        writer.afterStep(stepExecution);
+        writer.update(executionContext);
+
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(executionContext.getInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT)).isZero();
+        assertThat(stepExecution.getExecutionContext().getInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT)).isZero();
+    }
+
+    @Test
+    void resumesFromPreviouslyCommittedPosition() {
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT, 40);
+        RemoteChunkWriter writer = new RemoteChunkWriter(kafkaTemplate, replyRegistry, readerPosition::get, null,
+                4, 1_000, 1_000, 10);
+
+        writer.open(executionContext);
+        writer.update(executionContext);
+
+        assertThat(CsvConversionItemReader.resumePosition(executionContext)).isEqualTo(40);
+    }
+
+    private static ConversionRequest request() {
+        return new ConversionRequest(new BigDecimal("10"), "USD", "EUR");
+    }
+}
@@ -0,0 +1,175 @@
+package com.hasandag.exchange.conversion.batch.remote;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.ConversionRequest;
+import com.hasandag.exchange.common.dto.ExchangeRateResponse;
+import com.hasandag.exchange.conversion.batch.CsvConversionItemReader;
+import com.hasandag.exchange.conversion.batch.CsvConversionRequest;
+import com.hasandag.exchange.conversion.batch.RejectFileStore;
+import com.hasandag.exchange.conversion.batch.RejectedRowListener;
+import com.hasandag.exchange.conversion.batch.dedupe.TransactionIdDedupeIndexFactory;
+import com.hasandag.exchange.conversion.client.ExchangeRateFeignClient;
+import com.hasandag.exchange.conversion.config.KafkaConfig;
+import com.hasandag.exchange.conversion.kafka.producer.ConversionEventProducer;
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.repository.command.BulkInsertResult;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+@EmbeddedKafka(
+        partitions = 2,
+        topics = {KafkaConstants.BATCH_CHUNK_REQUEST_TOPIC, KafkaConstants.BATCH_CHUNK_REPLY_TOPIC},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@TestPropertySource(properties = {
+        "kafka.admin.enabled=false",
+        "conversion.batch.remote-chunking.enabled=true",
+        "conversion.batch.remote-chunking.worker-enabled=true"
+})
+class RemoteChunkingIntegrationTest {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private RemoteChunkReplyRegistry replyRegistry;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private CurrencyConversionMongoRepository mongoRepository;
+
+    @Autowired
+    private ConversionEventProducer conversionEventProducer;
+
+    @TempDir
+    Path rejectDir;
+
+    @BeforeEach
+    void waitForAssignments() {
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            ContainerTestUtils.waitForAssignment(container, embeddedKafka.getPartitionsPerTopic());
+        }
+    }
+
+    @Test
+    void workersProcessChunksAndManagerAggregatesReplies() throws Exception {
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(11L));
+        stepExecution.setId(21L);
+        AtomicInteger readerPosition = new AtomicInteger();
+        RejectFileStore rejectFileStore = new RejectFileStore(rejectDir.toString());
+        RejectedRowListener rejectedRowListener = new RejectedRowListener(rejectFileStore, 11L);
+        RemoteChunkWriter writer = new RemoteChunkWriter(kafkaTemplate, replyRegistry, readerPosition::get,
+                rejectedRowListener, 2, 10_000, 30_000, 10);
+        writer.beforeStep(stepExecution);
+        writer.open(stepExecution.getExecutionContext());
+
+        readerPosition.set(2);
+        writer.write(Chunk.of(request("USD", "EUR", "100", 2), request("USD", "EUR", "100", 3)));
+        readerPosition.set(4);
+        writer.write(Chunk.of(request("GBP", "EUR", "50", 4), request("USD", "XXX", "10", 5)));
+        readerPosition.set(5);
+        writer.write(Chunk.of(request("EUR", "USD", "20", 6)));
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+        rejectedRowListener.afterStep(stepExecution);
+
+        assertThat(exitStatus).isNull();
+        assertThat(stepExecution.getStatus()).isNotEqualTo(BatchStatus.FAILED);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(3);
+        assertThat(stepExecution.getFilterCount()).isEqualTo(1);
+        assertThat(stepExecution.getProcessSkipCount()).isEqualTo(1);
+        assertThat(replyRegistry.pendingCount()).isZero();
+        assertThat(stepExecution.getExecutionContext().getInt(CsvConversionItemReader.COMMITTED_ITEM_COUNT)).isEqualTo(5);
+        assertThat(Files.readAllLines(rejectFileStore.find(11L).orElseThrow()))
+                .hasSize(2)
+                .last().asString().startsWith("5,process,Unknown currency,10,USD,XXX");
+        verify(mongoRepository, atLeastOnce()).insertAllUnordered(anyList());
+        verify(conversionEventProducer, atLeastOnce()).sendConversionEventsAndAwait(anyList());
+    }
+
+    private static ConversionRequest request(String source, String target, String amount, long lineNumber) {
+        return new CsvConversionRequest(new BigDecimal(amount), source, target, lineNumber);
+    }
+
+    @Configuration
+    @EnableKafka
+    @Import({KafkaConfig.class, RemoteChunkReplyRegistry.class, RemoteChunkWorker.class,
+            TransactionIdDedupeIndexFactory.class})
+    static class TestConfig {
+
+        @Bean
+        ExchangeRateFeignClient exchangeRateFeignClient() {
+            ExchangeRateFeignClient client = mock(ExchangeRateFeignClient.class);
+            when(client.getExchangeRate(anyString(), anyString())).thenReturn(
+                    ExchangeRateResponse.builder().rate(new BigDecimal("1.10")).build());
+            when(client.getExchangeRate(anyString(), eq("XXX"))).thenThrow(new IllegalArgumentException("Unknown currency"));
+            return client;
+        }
+
+        @Bean
+        CurrencyConversionPostgresRepository postgresRepository() {
+            return mock(CurrencyConversionPostgresRepository.class);
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        CurrencyConversionMongoRepository mongoRepository() {
+            CurrencyConversionMongoRepository repository = mock(CurrencyConversionMongoRepository.class);
+            when(repository.insertAllUnordered(any())).thenAnswer(invocation -> new BulkInsertResult(
+                    (List<CurrencyConversionDocument>) invocation.getArgument(0), List.of()));
+            return repository;
+        }
+
+        @Bean
+        JobExplorer jobExplorer() {
+            return mock(JobExplorer.class);
+        }
+
+        @Bean
+        ConversionEventProducer conversionEventProducer() {
+            return mock(ConversionEventProducer.class);
+        }
+    }
+}
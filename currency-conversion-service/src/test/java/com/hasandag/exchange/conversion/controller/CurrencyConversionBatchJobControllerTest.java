@@ -0,0 +1,89 @@
+package com.hasandag.exchange.conversion.controller;
+
+import com.hasandag.exchange.conversion.batch.BatchJobProgressBroadcaster;
+import com.hasandag.exchange.conversion.service.BatchJobResultService;
+import com.hasandag.exchange.conversion.service.BatchJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CurrencyConversionBatchJobControllerTest {
+
+    private final BatchJobService batchJobService = mock(BatchJobService.class);
+    private final BatchJobProgressBroadcaster progressBroadcaster = new BatchJobProgressBroadcaster(60_000, 1);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CurrencyConversionBatchJobController(mock(Job.class),
+                batchJobService, mock(BatchJobResultService.class), progressBroadcaster)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        progressBroadcaster.destroy();
+    }
+
+    @Test
+    void streamsProgressOfTrackedJobs() throws Exception {
+        StepExecution stepExecution = new StepExecution("conversionStep", new JobExecution(5L));
+        stepExecution.setWriteCount(250);
+        stepExecution.setExitStatus(ExitStatus.COMPLETED);
+        progressBroadcaster.beforeStep(stepExecution);
+        progressBroadcaster.afterStep(stepExecution);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/batch/conversions/5/progress"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:progress")))
+                .andExpect(content().string(containsString("\"writeCount\":250")))
+                .andExpect(content().string(containsString("\"status\":\"COMPLETED\"")));
+        verify(batchJobService, never()).getJobStatus(5L);
+    }
+
+    @Test
+    void streamsStoredStatusOfUntrackedJobs() throws Exception {
+        when(batchJobService.getJobStatus(6L)).thenReturn(Map.of("jobId", 6L, "status", "COMPLETED"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/batch/conversions/6/progress"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:status")))
+                .andExpect(content().string(containsString("\"status\":\"COMPLETED\"")));
+    }
+
+    @Test
+    void returnsNotFoundForUnknownJobs() throws Exception {
+        when(batchJobService.getJobStatus(7L)).thenReturn(Map.of("error", "Job not found"));
+
+        mockMvc.perform(get("/api/v1/batch/conversions/7/progress"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,159 @@
+package com.hasandag.exchange.conversion.kafka.consumer;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.kafka.parallel.KeyOrderedDispatcher;
+import com.hasandag.exchange.conversion.kafka.retry.DeadLetterRouter;
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import com.hasandag.exchange.conversion.service.ConversionLookupCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversionEventConsumerTest {
+
+    private final CurrencyConversionPostgresRepository repository = mock(CurrencyConversionPostgresRepository.class);
+    private final DeadLetterRouter deadLetterRouter = mock(DeadLetterRouter.class);
+    private final CurrencyPairVolumeRollupRepository rollupRepository = mock(CurrencyPairVolumeRollupRepository.class);
+
+    @SuppressWarnings("unchecked")
+    private final ConversionEventConsumer consumer = new ConversionEventConsumer(repository,
+            mock(KeyOrderedDispatcher.class), deadLetterRouter, rollupRepository, mock(ConversionLookupCache.class),
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void insertsWholeBatchInOneStatement() {
+        when(repository.insertAllIgnoringDuplicates(any())).thenReturn(2);
+
+        consumer.consumeConversionEvents(List.of(record(0, "TX-1"), record(1, "TX-2")));
+
+        verify(repository).insertAllIgnoringDuplicates(argThat(rows -> rows.size() == 2));
+        verify(deadLetterRouter, never()).route(any(), any(), any());
+    }
+
+    @Test
+    void fallsBackToRowByRowAndSendsOnlyFailingRowsToRetry() {
+        ConsumerRecord<String, ConversionEvent> good = record(0, "TX-1");
+        ConsumerRecord<String, ConversionEvent> bad = record(1, "TX-2");
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("value too long");
+        when(repository.insertAllIgnoringDuplicates(any())).thenAnswer(invocation -> {
+            List<CurrencyConversionEntity> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).getTransactionId().equals("TX-2")) {
+                throw failure;
+            }
+            return 1;
+        });
+
+        consumer.consumeConversionEvents(List.of(good, bad));
+
+        verify(repository, times(3)).insertAllIgnoringDuplicates(any());
+        verify(rollupRepository).addAll(argThat(rows -> rows.size() == 1 && rows.iterator().next().getTransactionId().equals("TX-1")));
+        verify(deadLetterRouter).route(ConversionEventConsumer.RECORD_LISTENER_ID, bad, failure);
+        verify(deadLetterRouter, never()).route(any(), eq(good), any());
+    }
+
+    @Test
+    void countsDuplicatesAndIgnoredEventsOfABatch() {
+        ConsumerRecord<String, ConversionEvent> failed = record(3, "TX-3");
+        failed.value().setEventType(ConversionEvent.EventType.CONVERSION_FAILED);
+        ConsumerRecord<String, ConversionEvent> tombstone = new ConsumerRecord<>(KafkaConstants.CONVERSION_EVENT_TOPIC,
+                0, 4, "TX-4", null);
+        when(repository.insertAllIgnoringDuplicates(any())).thenReturn(1);
+
+        ConversionEventConsumer.BatchOutcome outcome = consumer.projectBatch(
+                List.of(record(0, "TX-1"), record(1, "TX-2"), record(2, "TX-1"), failed, tombstone));
+
+        verify(repository).insertAllIgnoringDuplicates(argThat(rows -> rows.size() == 2));
+        assertThat(outcome).isEqualTo(new ConversionEventConsumer.BatchOutcome(1, 2, 2, 0));
+    }
+
+    @Test
+    void countsRowsSentToRetryWhenTheRowByRowFallbackFails() {
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("value too long");
+        when(repository.insertAllIgnoringDuplicates(any())).thenAnswer(invocation -> {
+            List<CurrencyConversionEntity> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).getTransactionId().equals("TX-3")) {
+                throw failure;
+            }
+            return rows.get(0).getTransactionId().equals("TX-1") ? 1 : 0;
+        });
+
+        ConversionEventConsumer.BatchOutcome outcome = consumer.projectBatch(
+                List.of(record(0, "TX-1"), record(1, "TX-2"), record(2, "TX-3")));
+
+        assertThat(outcome).isEqualTo(new ConversionEventConsumer.BatchOutcome(1, 1, 0, 1));
+        verify(deadLetterRouter, times(1)).route(eq(ConversionEventConsumer.RECORD_LISTENER_ID), any(), eq(failure));
+    }
+
+    @Test
+    void recordListenerSkipsRedeliveredEventThroughTheSameInsert() {
+        when(repository.insertAllIgnoringDuplicates(any())).thenReturn(0);
+
+        consumer.consumeConversionEvent(record(0, "TX-1").value());
+
+        verify(repository).insertAllIgnoringDuplicates(argThat(rows -> rows.size() == 1
+                && rows.get(0).getTransactionId().equals("TX-1")));
+        verify(repository, never()).save(any());
+        verify(repository, never()).existsByTransactionId(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redeliveredBatchLeavesRollupTotalsUnchanged() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ConversionEventConsumer rollingUp = new ConversionEventConsumer(repository, mock(KeyOrderedDispatcher.class),
+                deadLetterRouter, new CurrencyPairVolumeRollupRepository(jdbcTemplate), mock(ConversionLookupCache.class),
+                mock(PlatformTransactionManager.class));
+        Set<String> stored = new HashSet<>();
+        when(repository.insertAllIgnoringDuplicates(any())).thenAnswer(invocation -> {
+            List<CurrencyConversionEntity> rows = invocation.getArgument(0);
+            int inserted = 0;
+            for (CurrencyConversionEntity row : rows) {
+                if (stored.add(row.getTransactionId())) {
+                    row.setId((long) stored.size());
+                    inserted++;
+                }
+            }
+            return inserted;
+        });
+        List<ConsumerRecord<String, ConversionEvent>> batch = List.of(record(0, "TX-1"), record(1, "TX-2"));
+
+        rollingUp.consumeConversionEvents(batch);
+        rollingUp.consumeConversionEvents(batch);
+
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+    }
+
+    private static ConsumerRecord<String, ConversionEvent> record(long offset, String transactionId) {
+        return new ConsumerRecord<>(KafkaConstants.CONVERSION_EVENT_TOPIC, 0, offset, transactionId,
+                ConversionEvent.builder()
+                        .transactionId(transactionId)
+                        .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
+                        .sourceCurrency("USD")
+                        .targetCurrency("EUR")
+                        .sourceAmount(new BigDecimal("100.00"))
+                        .targetAmount(new BigDecimal("92.00"))
+                        .exchangeRate(new BigDecimal("0.92"))
+                        .build());
+    }
+}
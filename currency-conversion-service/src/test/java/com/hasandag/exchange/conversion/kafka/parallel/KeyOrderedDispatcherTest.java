@@ -0,0 +1,79 @@
+package com.hasandag.exchange.conversion.kafka.parallel;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedDispatcherTest {
+
+    private static final String TOPIC = "events";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void watermarkOnlyAdvancesPastContiguousCompletions() {
+        OffsetWatermark watermark = new OffsetWatermark();
+        assertThat(watermark.committableOffset()).isEqualTo(OptionalLong.empty());
+
+        watermark.track(10);
+        watermark.track(11);
+        watermark.track(12);
+        watermark.complete(11);
+        watermark.complete(12);
+        assertThat(watermark.committableOffset()).hasValue(10);
+
+        watermark.complete(10);
+        assertThat(watermark.committableOffset()).hasValue(13);
+
+        watermark.committed(13);
+        assertThat(watermark.committableOffset()).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    void preservesOrderPerKeyAndCommitsWatermark() throws Exception {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Set.of(PARTITION));
+        KeyOrderedDispatcher<String> dispatcher = new KeyOrderedDispatcher<>("test", value -> value.split(":")[0],
+                4, 100, 1, 0, 5000);
+
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (int offset = 0; offset < 200; offset++) {
+            records.add(new ConsumerRecord<>(TOPIC, 0, offset, null, "key" + (offset % 7) + ":" + offset));
+        }
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch processed = new CountDownLatch(records.size());
+
+        dispatcher.dispatch(records, consumer, value -> {
+            String[] parts = value.split(":");
+            seen.computeIfAbsent(parts[0], key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(parts[1]));
+            processed.countDown();
+        }, (record, exception) -> { });
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.inFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(dispatcher.inFlightCount()).isZero();
+
+        assertThat(seen).hasSize(7);
+        seen.values().forEach(offsets -> assertThat(offsets).isSorted());
+
+        dispatcher.commit(consumer);
+        assertThat(consumer.committed(Set.of(PARTITION)).get(PARTITION).offset()).isEqualTo(200);
+        dispatcher.destroy();
+    }
+}
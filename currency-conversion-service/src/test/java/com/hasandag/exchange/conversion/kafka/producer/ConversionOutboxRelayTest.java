@@ -0,0 +1,86 @@
+package com.hasandag.exchange.conversion.kafka.producer;
+
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.exception.EventPublishException;
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.hasandag.exchange.conversion.model.OutboxEntry;
+import com.hasandag.exchange.conversion.repository.command.CurrencyConversionMongoRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversionOutboxRelayTest {
+
+    private final ConversionEventProducer eventProducer = mock(ConversionEventProducer.class);
+    private final CurrencyConversionMongoRepository repository = mock(CurrencyConversionMongoRepository.class);
+    private final ConversionOutboxRelay relay = new ConversionOutboxRelay(eventProducer, repository, 2, 5);
+
+    @Test
+    void publishesPendingEventsThenClearsTheirOutboxEntries() {
+        when(repository.findPendingOutbox(2))
+                .thenReturn(List.of(document("1", "TX-1"), document("2", "TX-2")))
+                .thenReturn(List.of(document("3", "TX-3")));
+
+        relay.relayPendingEvents();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ConversionEvent>> events = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(eventProducer, repository);
+        order.verify(eventProducer).sendConversionEventsAndAwait(events.capture());
+        order.verify(repository).clearOutbox(List.of("1", "2"));
+        order.verify(eventProducer).sendConversionEventsAndAwait(events.capture());
+        order.verify(repository).clearOutbox(List.of("3"));
+        assertThat(events.getAllValues().get(0)).extracting(ConversionEvent::getEventId).containsExactly("event-1", "event-2");
+        assertThat(events.getAllValues().get(0)).extracting(ConversionEvent::getEventType)
+                .containsOnly(ConversionEvent.EventType.CONVERSION_CREATED);
+    }
+
+    @Test
+    void leavesEntriesPendingWhenPublishFails() {
+        when(repository.findPendingOutbox(anyInt())).thenReturn(List.of(document("1", "TX-1")));
+        doThrow(new EventPublishException("broker unavailable")).when(eventProducer).sendConversionEventsAndAwait(anyList());
+
+        relay.relayPendingEvents();
+
+        verify(repository, never()).clearOutbox(any());
+    }
+
+    @Test
+    void doesNothingWhenOutboxIsEmpty() {
+        when(repository.findPendingOutbox(anyInt())).thenReturn(List.of());
+
+        relay.relayPendingEvents();
+
+        verify(eventProducer, never()).sendConversionEventsAndAwait(anyList());
+        verify(repository, never()).clearOutbox(any());
+    }
+
+    private static CurrencyConversionDocument document(String id, String transactionId) {
+        return CurrencyConversionDocument.builder()
+                .id(id)
+                .transactionId(transactionId)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("92.00"))
+                .exchangeRate(new BigDecimal("0.92"))
+                .timestamp(LocalDateTime.of(2026, 10, 18, 12, 0))
+                .outbox(new OutboxEntry("event-" + id, LocalDateTime.of(2026, 10, 18, 12, 0)))
+                .build();
+    }
+}
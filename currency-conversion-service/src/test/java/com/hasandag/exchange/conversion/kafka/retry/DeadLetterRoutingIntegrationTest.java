@@ -0,0 +1,164 @@
+package com.hasandag.exchange.conversion.kafka.retry;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import com.hasandag.exchange.common.dto.cqrs.ConversionEvent;
+import com.hasandag.exchange.conversion.config.KafkaConfig;
+import com.hasandag.exchange.conversion.config.ParallelConsumerConfig;
+import com.hasandag.exchange.conversion.kafka.consumer.ConversionEventConsumer;
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import com.hasandag.exchange.conversion.service.ConversionLookupCache;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig
+@EmbeddedKafka(partitions = 1, bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+@TestPropertySource(properties = {
+        "conversion.read-model.listener-mode=record",
+        "conversion.kafka.retry.attempts=2",
+        "conversion.kafka.retry.initial-delay-ms=100",
+        "conversion.kafka.retry.max-delay-ms=100",
+        "kafka.topics.conversion-event.partitions=1"
+})
+class DeadLetterRoutingIntegrationTest {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private DeadLetterRouter deadLetterRouter;
+
+    @Autowired
+    private CurrencyConversionPostgresRepository postgresRepository;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    private Consumer<String, String> dltConsumer;
+
+    @BeforeEach
+    void subscribeToDeadLetterTopic() {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("dlt-test-" + System.nanoTime(), "false", embeddedKafka);
+        dltConsumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        dltConsumer.subscribe(List.of(KafkaConstants.CONVERSION_EVENT_DLT_TOPIC));
+    }
+
+    @AfterEach
+    void closeConsumer() {
+        dltConsumer.close();
+    }
+
+    @Test
+    void failingRecordIsRetriedThenParkedInDeadLetterTopic() {
+        kafkaTemplate.send(KafkaConstants.CONVERSION_EVENT_TOPIC, "TX-RETRIED", event("TX-RETRIED"));
+
+        awaitDeadLetter("TX-RETRIED");
+        verify(postgresRepository, atLeast(2)).insertAllIgnoringDuplicates(argThat(rows -> isRow(rows, "TX-RETRIED")));
+    }
+
+    @Test
+    void routerHandsRecordsToTheRetryChain() {
+        ConsumerRecord<String, Object> record = new ConsumerRecord<>(
+                KafkaConstants.CONVERSION_EVENT_TOPIC, 0, 0, "TX-ROUTED", event("TX-ROUTED"));
+
+        deadLetterRouter.route(ConversionEventConsumer.RECORD_LISTENER_ID, record,
+                new DataAccessResourceFailureException("batch row failed"));
+
+        awaitDeadLetter("TX-ROUTED");
+        verify(postgresRepository, atLeast(1)).insertAllIgnoringDuplicates(argThat(rows -> isRow(rows, "TX-ROUTED")));
+    }
+
+    private void awaitDeadLetter(String key) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(dltConsumer, Duration.ofSeconds(1));
+            for (ConsumerRecord<String, String> record : records) {
+                if (key.equals(record.key())) {
+                    assertThat(record.value()).contains(key);
+                    return;
+                }
+            }
+        }
+        fail("No dead-letter record for " + key);
+    }
+
+    private static boolean isRow(List<CurrencyConversionEntity> rows, String transactionId) {
+        return rows != null && rows.size() == 1 && transactionId.equals(rows.get(0).getTransactionId());
+    }
+
+    private static ConversionEvent event(String transactionId) {
+        return ConversionEvent.builder()
+                .transactionId(transactionId)
+                .eventType(ConversionEvent.EventType.CONVERSION_CREATED)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("92.00"))
+                .exchangeRate(new BigDecimal("0.92"))
+                .build();
+    }
+
+    @Configuration
+    @EnableKafka
+    @Import({KafkaConfig.class, ParallelConsumerConfig.class, ConversionEventConsumer.class, DeadLetterRouter.class})
+    static class TestConfig {
+
+        @Bean
+        CurrencyConversionPostgresRepository postgresRepository() {
+            CurrencyConversionPostgresRepository repository = mock(CurrencyConversionPostgresRepository.class);
+            when(repository.insertAllIgnoringDuplicates(anyList()))
+                    .thenThrow(new DataAccessResourceFailureException("read model unavailable"));
+            return repository;
+        }
+
+        @Bean
+        CurrencyPairVolumeRollupRepository rollupRepository() {
+            return mock(CurrencyPairVolumeRollupRepository.class);
+        }
+
+        @Bean
+        ConversionLookupCache lookupCache() {
+            return mock(ConversionLookupCache.class);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return mock(PlatformTransactionManager.class);
+        }
+    }
+}
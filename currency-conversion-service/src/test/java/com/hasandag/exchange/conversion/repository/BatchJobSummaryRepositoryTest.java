@@ -0,0 +1,89 @@
+package com.hasandag.exchange.conversion.repository;
+
+import com.hasandag.exchange.conversion.model.BatchJobSummaryEntity;
+import com.hasandag.exchange.conversion.model.BatchJobTypeEntity;
+import com.hasandag.exchange.conversion.repository.query.BatchJobSummaryRepository;
+import com.hasandag.exchange.conversion.repository.query.BatchJobTypeRepository;
+import com.hasandag.exchange.conversion.service.BatchJobSummaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.url=jdbc:h2:mem:testdb",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false"
+})
+class BatchJobSummaryRepositoryTest {
+
+    @Autowired
+    private BatchJobSummaryRepository repository;
+
+    @Autowired
+    private BatchJobTypeRepository jobTypeRepository;
+
+    @Test
+    void testSummaryQueriesAggregateByJobNameAndStatus() {
+        repository.save(summary(1L, 1L, "COMPLETED"));
+        repository.save(summary(2L, 2L, "FAILED"));
+        repository.save(summary(3L, 2L, "COMPLETED"));
+        repository.save(summary(4L, 3L, "STARTED"));
+
+        assertThat(repository.countByStatusIn(BatchJobSummaryService.RUNNING_STATUSES)).isEqualTo(1);
+        assertThat(repository.countByStatusIn(List.of("STARTING"))).isZero();
+        assertThat(repository.countInstancesByJobName())
+                .extracting(BatchJobSummaryRepository.JobInstanceCount::getJobName,
+                        BatchJobSummaryRepository.JobInstanceCount::getInstances)
+                .containsExactly(tuple("bulkConversionJob", 3L));
+        assertThat(repository.countByJobNameAndStatus())
+                .extracting(BatchJobSummaryRepository.JobStatusCount::getStatus,
+                        BatchJobSummaryRepository.JobStatusCount::getExecutions)
+                .containsExactlyInAnyOrder(tuple("COMPLETED", 2L), tuple("FAILED", 1L), tuple("STARTED", 1L));
+        assertThat(repository.findTop50ByOrderByJobExecutionIdDesc())
+                .extracting(BatchJobSummaryEntity::getJobExecutionId)
+                .containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void testInsertIfAbsentNeverOverwritesAnExistingSummary() {
+        repository.save(summary(1L, 1L, "COMPLETED"));
+
+        assertThat(repository.insertIfAbsent(summary(1L, 1L, "STARTING"))).isZero();
+        assertThat(repository.insertIfAbsent(summary(2L, 2L, "STARTING"))).isEqualTo(1);
+
+        assertThat(repository.findById(1L)).get().extracting(BatchJobSummaryEntity::getStatus).isEqualTo("COMPLETED");
+        assertThat(repository.findById(2L)).get().extracting(BatchJobSummaryEntity::getStatus).isEqualTo("STARTING");
+        assertThat(repository.countByStatusIn(BatchJobSummaryService.RUNNING_STATUSES)).isZero();
+    }
+
+    @Test
+    void testJobTypesAreCountedFromTheirOwnTable() {
+        jobTypeRepository.save(BatchJobTypeEntity.builder().jobName("bulkConversionJob").build());
+        jobTypeRepository.save(BatchJobTypeEntity.builder().jobName("bulkConversionJob").build());
+        jobTypeRepository.save(BatchJobTypeEntity.builder().jobName("reconciliationJob").build());
+
+        assertThat(jobTypeRepository.count()).isEqualTo(2);
+    }
+
+    private static BatchJobSummaryEntity summary(Long executionId, Long instanceId, String status) {
+        return BatchJobSummaryEntity.builder()
+                .jobExecutionId(executionId)
+                .jobInstanceId(instanceId)
+                .jobName("bulkConversionJob")
+                .status(status)
+                .build();
+    }
+}
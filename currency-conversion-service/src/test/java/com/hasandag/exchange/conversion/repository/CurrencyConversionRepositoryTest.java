@@ -11,6 +11,8 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,4 +55,40 @@ class CurrencyConversionRepositoryTest {
         assertThat(result.get().getSourceCurrency()).isEqualTo("USD");
         assertThat(result.get().getTargetCurrency()).isEqualTo("EUR");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void historyPagesWalkTimestampTiesWithoutGapsOrOverlap() {
+        LocalDateTime base = LocalDateTime.of(2026, 10, 1, 12, 0);
+        for (int i = 0; i < 7; i++) {
+            repository.save(CurrencyConversionEntity.builder()
+                    .transactionId("keyset-tx-" + i)
+                    .sourceCurrency("USD")
+                    .targetCurrency("EUR")
+                    .sourceAmount(BigDecimal.valueOf(100))
+                    .targetAmount(BigDecimal.valueOf(85))
+                    .exchangeRate(BigDecimal.valueOf(0.85))
+                    .timestamp(base.plusMinutes(i / 2))
+                    .build());
+        }
+        entityManager.flush();
+
+        LocalDateTime start = base.minusDays(1);
+        LocalDateTime end = base.plusDays(1);
+        List<String> seen = new ArrayList<>();
+        LocalDateTime beforeTimestamp = null;
+        Long beforeId = null;
+        List<CurrencyConversionEntity> page;
+        do {
+            page = repository.findHistoryPage(start, end, beforeTimestamp, beforeId, 3);
+            page.forEach(row -> seen.add(row.getTransactionId()));
+            if (!page.isEmpty()) {
+                beforeTimestamp = page.get(page.size() - 1).getTimestamp();
+                beforeId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 3);
+
+        assertThat(seen).containsExactly("keyset-tx-6", "keyset-tx-5", "keyset-tx-4", "keyset-tx-3",
+                "keyset-tx-2", "keyset-tx-1", "keyset-tx-0");
+        assertThat(repository.countByTimestampBetween(start, end)).isEqualTo(7);
+    }
+}
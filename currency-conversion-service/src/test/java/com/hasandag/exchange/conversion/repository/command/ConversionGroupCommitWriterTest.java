@@ -0,0 +1,127 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConversionGroupCommitWriterTest {
+
+    private final CurrencyConversionMongoRepository repository = mock(CurrencyConversionMongoRepository.class);
+    private ConversionGroupCommitWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void coalescesQueuedWritesIntoOneInsert() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        when(repository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversionDocument> documents = invocation.getArgument(0);
+            batchSizes.add(documents.size());
+            if (batchSizes.size() == 1) {
+                firstInsertStarted.countDown();
+                releaseFirstInsert.await(5, TimeUnit.SECONDS);
+            }
+            return new BulkInsertResult(documents, List.of());
+        });
+        writer = new ConversionGroupCommitWriter(repository, new SimpleMeterRegistry(), 256, 500, 1000);
+        writer.start();
+
+        CompletableFuture<CurrencyConversionDocument> first = writer.write(document("TX-0"));
+        assertThat(firstInsertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<CurrencyConversionDocument>> queued = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            queued.add(writer.write(document("TX-" + i)));
+        }
+        releaseFirstInsert.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TX-0");
+        for (int i = 0; i < queued.size(); i++) {
+            assertThat(queued.get(i).get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TX-" + (i + 1));
+        }
+        assertThat(batchSizes).containsExactly(1, 50);
+    }
+
+    @Test
+    void failsOnlyTheDuplicateCaller() throws Exception {
+        when(repository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversionDocument> documents = invocation.getArgument(0);
+            List<CurrencyConversionDocument> inserted = new ArrayList<>();
+            List<CurrencyConversionDocument> duplicates = new ArrayList<>();
+            for (CurrencyConversionDocument document : documents) {
+                (document.getTransactionId().equals("TX-DUP") ? duplicates : inserted).add(document);
+            }
+            return new BulkInsertResult(inserted, duplicates);
+        });
+        writer = new ConversionGroupCommitWriter(repository, new SimpleMeterRegistry(), 256, 500, 1000);
+        writer.start();
+
+        CompletableFuture<CurrencyConversionDocument> duplicate = writer.write(document("TX-DUP"));
+        CompletableFuture<CurrencyConversionDocument> fresh = writer.write(document("TX-NEW"));
+
+        assertThat(fresh.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TX-NEW");
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void dropsWritesCancelledWhileQueued() throws Exception {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstInsert = new CountDownLatch(1);
+        when(repository.insertAllUnordered(anyList())).thenAnswer(invocation -> {
+            List<CurrencyConversionDocument> documents = invocation.getArgument(0);
+            batches.add(documents.stream().map(CurrencyConversionDocument::getTransactionId).toList());
+            if (batches.size() == 1) {
+                firstInsertStarted.countDown();
+                releaseFirstInsert.await(5, TimeUnit.SECONDS);
+            }
+            return new BulkInsertResult(documents, List.of());
+        });
+        writer = new ConversionGroupCommitWriter(repository, new SimpleMeterRegistry(), 256, 500, 1000);
+        writer.start();
+
+        writer.write(document("TX-0"));
+        assertThat(firstInsertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<CurrencyConversionDocument> timedOut = writer.write(document("TX-TIMED-OUT"));
+        CompletableFuture<CurrencyConversionDocument> kept = writer.write(document("TX-KEPT"));
+        timedOut.cancel(false);
+        releaseFirstInsert.countDown();
+
+        assertThat(kept.get(5, TimeUnit.SECONDS).getTransactionId()).isEqualTo("TX-KEPT");
+        assertThat(batches).containsExactly(List.of("TX-0"), List.of("TX-KEPT"));
+    }
+
+    @Test
+    void stopsAfterTheWebServer() {
+        writer = new ConversionGroupCommitWriter(repository, new SimpleMeterRegistry(), 256, 500, 1000);
+
+        assertThat(writer.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    private static CurrencyConversionDocument document(String transactionId) {
+        return CurrencyConversionDocument.builder().transactionId(transactionId).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.hasandag.exchange.conversion.repository.command;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionDocument;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrencyConversionMongoRepositoryCustomImplTest {
+
+    private MongoOperations mongoOperations;
+    private BulkOperations bulkOperations;
+    private CurrencyConversionMongoRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoOperations = mock(MongoOperations.class);
+        bulkOperations = mock(BulkOperations.class);
+        when(mongoOperations.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(CurrencyConversionDocument.class)))
+                .thenReturn(bulkOperations);
+        repository = new CurrencyConversionMongoRepositoryCustomImpl(mongoOperations);
+    }
+
+    @Test
+    void insertsWholeChunkInSingleUnorderedBulk() {
+        List<CurrencyConversionDocument> documents = List.of(document("TX-1"), document("TX-2"));
+
+        BulkInsertResult result = repository.insertAllUnordered(documents);
+
+        verify(bulkOperations).insert(documents);
+        verify(bulkOperations).execute();
+        assertThat(result.insertedCount()).isEqualTo(2);
+        assertThat(result.duplicateCount()).isZero();
+    }
+
+    @Test
+    void reportsDuplicateKeyErrorsAsAlreadyProcessedRows() {
+        List<CurrencyConversionDocument> documents = List.of(document("TX-1"), document("TX-2"), document("TX-3"));
+        when(bulkOperations.execute()).thenThrow(bulkFailure(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+
+        BulkInsertResult result = repository.insertAllUnordered(documents);
+
+        assertThat(result.inserted()).extracting(CurrencyConversionDocument::getTransactionId).containsExactly("TX-1", "TX-3");
+        assertThat(result.duplicates()).extracting(CurrencyConversionDocument::getTransactionId).containsExactly("TX-2");
+    }
+
+    @Test
+    void rethrowsNonDuplicateWriteErrors() {
+        List<CurrencyConversionDocument> documents = List.of(document("TX-1"));
+        when(bulkOperations.execute()).thenThrow(bulkFailure(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)));
+
+        assertThatThrownBy(() -> repository.insertAllUnordered(documents)).isInstanceOf(BulkOperationException.class);
+    }
+
+    @Test
+    void pendingOutboxQueryFiltersAndSortsOnTheIndexedField() {
+        repository.findPendingOutbox(50);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(CurrencyConversionDocument.class));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("outbox.createdAt", new Document("$exists", true)));
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("outbox.createdAt", 1));
+        assertThat(query.getValue().getLimit()).isEqualTo(50);
+    }
+
+    private static BulkOperationException bulkFailure(BulkWriteError error) {
+        MongoBulkWriteException source = new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), List.of(error), null, new ServerAddress(), Collections.emptySet());
+        return new BulkOperationException(source.getMessage(), source);
+    }
+
+    private static CurrencyConversionDocument document(String transactionId) {
+        return CurrencyConversionDocument.builder().transactionId(transactionId).build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrencyConversionPostgresRepositoryCustomImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CurrencyConversionPostgresRepositoryCustomImpl repository =
+            new CurrencyConversionPostgresRepositoryCustomImpl(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void claimsTransactionIdsGloballyAndInsertsOnlyClaimedRows() throws Exception {
+        CurrencyConversionEntity first = entity("TX-1", LocalDateTime.of(2026, 10, 18, 12, 0));
+        CurrencyConversionEntity redelivered = entity("TX-1", LocalDateTime.of(2026, 10, 18, 12, 5));
+        CurrencyConversionEntity second = entity("TX-2", LocalDateTime.of(2026, 10, 18, 12, 1));
+        ResultSet claimed = mock(ResultSet.class);
+        when(claimed.getString("transaction_id")).thenReturn("TX-2");
+        when(claimed.getLong("id")).thenReturn(7L);
+        when(claimed.getBigDecimal("source_amount")).thenReturn(new BigDecimal("100.0000"));
+        when(claimed.getBigDecimal("target_amount")).thenReturn(new BigDecimal("92.0000"));
+        when(claimed.getBigDecimal("exchange_rate")).thenReturn(new BigDecimal("0.920000"));
+        when(claimed.getTimestamp("timestamp")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2026, 10, 18, 12, 1)));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<Integer> mapper = invocation.getArgument(1);
+            return List.of(mapper.mapRow(claimed, 0));
+        });
+
+        int inserted = repository.insertAllIgnoringDuplicates(List.of(first, redelivered, second));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue())
+                .contains("INSERT INTO conversion_transaction_ids (transaction_id) SELECT transaction_id FROM incoming "
+                        + "ON CONFLICT DO NOTHING RETURNING transaction_id")
+                .contains("FROM incoming i JOIN claimed USING (transaction_id)")
+                .doesNotContain("ON CONFLICT (transaction_id, timestamp)");
+        assertThat(args.getValue()).hasSize(14);
+        assertThat(args.getValue()[0]).isEqualTo("TX-1");
+        assertThat(args.getValue()[7]).isEqualTo("TX-2");
+        assertThat(inserted).isEqualTo(1);
+        assertThat(second.getId()).isEqualTo(7L);
+        assertThat(second.getTargetAmount()).hasToString("92.0000");
+        assertThat(second.getExchangeRate()).hasToString("0.920000");
+        assertThat(first.getId()).isNull();
+        assertThat(redelivered.getId()).isNull();
+    }
+
+    private static CurrencyConversionEntity entity(String transactionId, LocalDateTime timestamp) {
+        return CurrencyConversionEntity.builder()
+                .transactionId(transactionId)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("100.00"))
+                .targetAmount(new BigDecimal("92.00"))
+                .exchangeRate(new BigDecimal("0.92"))
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.hasandag.exchange.conversion.repository.query;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CurrencyPairVolumeRollupRepositoryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CurrencyPairVolumeRollupRepository repository = new CurrencyPairVolumeRollupRepository(jdbcTemplate);
+
+    @Test
+    void addsHourAndDayBucketsInKeyOrderWithStoredPrecision() {
+        int rows = repository.addAll(List.of(
+                conversion(1L, "USD", "EUR", "100.00005", "92.00004", LocalDateTime.of(2026, 10, 18, 9, 15)),
+                conversion(2L, "USD", "EUR", "50", "46", LocalDateTime.of(2026, 10, 18, 9, 45, 59)),
+                conversion(3L, "GBP", "USD", "10", "12.5", LocalDateTime.of(2026, 10, 18, 10, 5))));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+        assertThat(rows).isEqualTo(4);
+        assertThat(sql.getValue()).startsWith("INSERT INTO currency_pair_volume_rollups AS r ")
+                .contains("conversion_count = r.conversion_count + EXCLUDED.conversion_count");
+
+        List<List<Object>> upserts = rows(args.getValue());
+        LocalDateTime day = LocalDateTime.of(2026, 10, 18, 0, 0);
+        assertThat(upserts).extracting(row -> row.subList(0, 5)).containsExactly(
+                List.of("DAY", Timestamp.valueOf(day), "GBP", "USD", 1L),
+                List.of("DAY", Timestamp.valueOf(day), "USD", "EUR", 2L),
+                List.of("HOUR", Timestamp.valueOf(day.withHour(10)), "GBP", "USD", 1L),
+                List.of("HOUR", Timestamp.valueOf(day.withHour(9)), "USD", "EUR", 2L));
+        assertThat(upserts.get(3).get(5)).hasToString("150.0001");
+        assertThat(upserts.get(3).get(6)).hasToString("138.0000");
+    }
+
+    @Test
+    void skipsRowsThatWereNotInserted() {
+        int rows = repository.addAll(List.of(
+                conversion(null, "USD", "EUR", "100", "92", LocalDateTime.of(2026, 10, 18, 9, 15))));
+
+        assertThat(rows).isZero();
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private static List<List<Object>> rows(Object[] args) {
+        return IntStream.range(0, args.length / 7)
+                .mapToObj(i -> Arrays.asList(Arrays.copyOfRange(args, i * 7, i * 7 + 7)))
+                .toList();
+    }
+
+    private static CurrencyConversionEntity conversion(Long id, String source, String target,
+                                                       String sourceAmount, String targetAmount, LocalDateTime timestamp) {
+        return CurrencyConversionEntity.builder()
+                .id(id)
+                .transactionId("tx-" + id)
+                .sourceCurrency(source)
+                .targetCurrency(target)
+                .sourceAmount(new BigDecimal(sourceAmount))
+                .targetAmount(new BigDecimal(targetAmount))
+                .exchangeRate(BigDecimal.ONE)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.batch.BatchUploadStorage;
+import com.hasandag.exchange.conversion.batch.RejectFileStore;
+import com.hasandag.exchange.conversion.repository.query.BatchJobSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.url=jdbc:h2:mem:retentiondb",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false"
+})
+@Sql(scripts = "classpath:org/springframework/batch/core/schema-h2.sql")
+@Sql(scripts = "classpath:org/springframework/batch/core/schema-drop-h2.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BatchMetadataRetentionServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BatchJobSummaryRepository summaryRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void prunesFinishedExecutionsOlderThanCutoffAndArchivesSummaries() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        LocalDateTime now = LocalDateTime.now();
+        insertExecution(jdbc, 1L, 1L, "COMPLETED", now.minusDays(40));
+        insertExecution(jdbc, 2L, 1L, "FAILED", now.minusDays(35));
+        insertExecution(jdbc, 3L, 2L, "COMPLETED", now.minusDays(1));
+        insertExecution(jdbc, 4L, 3L, "STARTED", null);
+
+        BatchMetadataRetentionService service = new BatchMetadataRetentionService(
+                new NamedParameterJdbcTemplate(dataSource), transactionManager,
+                new BatchUploadStorage(tempDir.toString()), new RejectFileStore(tempDir.toString()),
+                30, 1, 10);
+
+        long pruned = service.prune(now.minusDays(30));
+
+        assertThat(pruned).isEqualTo(2);
+        assertThat(jdbc.queryForList("SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION ORDER BY JOB_EXECUTION_ID", Long.class))
+                .containsExactly(3L, 4L);
+        assertThat(jdbc.queryForList("SELECT JOB_INSTANCE_ID FROM BATCH_JOB_INSTANCE ORDER BY JOB_INSTANCE_ID", Long.class))
+                .containsExactly(2L, 3L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM BATCH_STEP_EXECUTION", Long.class)).isEqualTo(2);
+        assertThat(summaryRepository.findById(1L)).hasValueSatisfying(summary -> {
+            assertThat(summary.getStatus()).isEqualTo("COMPLETED");
+            assertThat(summary.getOriginalFilename()).isEqualTo("rates-1.csv");
+            assertThat(summary.getWriteCount()).isEqualTo(10);
+        });
+        assertThat(summaryRepository.findById(2L)).isPresent();
+    }
+
+    private static void insertExecution(JdbcTemplate jdbc, Long executionId, Long instanceId,
+                                        String status, LocalDateTime endTime) {
+        jdbc.update("MERGE INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY) KEY (JOB_INSTANCE_ID) VALUES (?, 0, 'bulkConversionJob', ?)",
+                instanceId, "key-" + instanceId);
+        Timestamp end = endTime != null ? Timestamp.valueOf(endTime) : null;
+        Timestamp created = Timestamp.valueOf(endTime != null ? endTime : LocalDateTime.now());
+        jdbc.update("INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, START_TIME, END_TIME, STATUS, EXIT_CODE) VALUES (?, 0, ?, ?, ?, ?, ?, ?)",
+                executionId, instanceId, created, created, end, status, status);
+        jdbc.update("INSERT INTO BATCH_JOB_EXECUTION_PARAMS (JOB_EXECUTION_ID, PARAMETER_NAME, PARAMETER_TYPE, PARAMETER_VALUE, IDENTIFYING) VALUES (?, 'original.filename', 'java.lang.String', ?, 'Y')",
+                executionId, "rates-" + executionId + ".csv");
+        jdbc.update("INSERT INTO BATCH_JOB_EXECUTION_CONTEXT (JOB_EXECUTION_ID, SHORT_CONTEXT) VALUES (?, '{}')", executionId);
+        jdbc.update("INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME, STATUS, READ_COUNT, WRITE_COUNT, COMMIT_COUNT, READ_SKIP_COUNT, PROCESS_SKIP_COUNT, WRITE_SKIP_COUNT) VALUES (?, 0, 'conversionStep', ?, CURRENT_TIMESTAMP, ?, 10, 10, 1, 0, 0, 0)",
+                executionId * 10, executionId, status);
+        jdbc.update("INSERT INTO BATCH_STEP_EXECUTION_CONTEXT (STEP_EXECUTION_ID, SHORT_CONTEXT) VALUES (?, '{}')", executionId * 10);
+    }
+}
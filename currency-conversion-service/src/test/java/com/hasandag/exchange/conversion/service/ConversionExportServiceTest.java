@@ -0,0 +1,132 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import com.hasandag.exchange.conversion.model.ExportFormat;
+import com.hasandag.exchange.conversion.repository.query.CurrencyConversionPostgresRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.url=jdbc:h2:mem:exportdb",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConversionExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CurrencyConversionPostgresRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConversionExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ConversionExportService(dataSource, objectMapper, 2);
+        repository.saveAll(List.of(
+                conversion("TX-LATE", DAY.atTime(23, 59, 59), "30.00"),
+                conversion("TX-EARLY", DAY.atTime(0, 0), "10.50"),
+                conversion("TX-BEFORE", DAY.minusDays(1).atTime(23, 59, 59), "1.00"),
+                conversion("TX-AFTER", DAY.plusDays(1).atStartOfDay(), "2.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void resolvesFormatsIgnoringCaseAndWhitespace() {
+        assertThat(exportService.resolveFormat(" CSV ")).isEqualTo(ExportFormat.CSV);
+        assertThat(exportService.resolveFormat("ndjson")).isEqualTo(ExportFormat.NDJSON);
+        assertThatThrownBy(() -> exportService.resolveFormat("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported export format: xml");
+    }
+
+    @Test
+    void rejectsMissingOrReversedDateRanges() {
+        assertThatThrownBy(() -> exportService.streamConversions(null, DAY, ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Provide a valid date range");
+        assertThatThrownBy(() -> exportService.streamConversions(DAY, null, ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> exportService.streamConversions(DAY.plusDays(1), DAY, ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is after end date");
+    }
+
+    @Test
+    void streamsCsvRowsOfTheWholeRangeInTimestampOrder() throws Exception {
+        String csv = export(ExportFormat.CSV);
+
+        assertThat(csv.lines().toList()).containsExactly(
+                "transactionId,sourceCurrency,targetCurrency,sourceAmount,targetAmount,exchangeRate,timestamp",
+                "TX-EARLY,USD,EUR,10.5000,9.6600,0.920000,2026-10-18T00:00",
+                "TX-LATE,USD,EUR,30.0000,27.6000,0.920000,2026-10-18T23:59:59");
+    }
+
+    @Test
+    void streamsOneJsonObjectPerLine() throws Exception {
+        List<String> lines = export(ExportFormat.NDJSON).lines().toList();
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("transactionId").asText()).isEqualTo("TX-EARLY");
+        assertThat(first.get("sourceAmount").decimalValue()).isEqualByComparingTo("10.50");
+        assertThat(first.get("targetAmount").decimalValue()).isEqualByComparingTo("9.66");
+        assertThat(first.get("timestamp").asText()).isEqualTo("2026-10-18T00:00");
+        assertThat(objectMapper.readTree(lines.get(1)).get("transactionId").asText()).isEqualTo("TX-LATE");
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.streamConversions(DAY, DAY, format).writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static CurrencyConversionEntity conversion(String transactionId, LocalDateTime timestamp, String amount) {
+        BigDecimal sourceAmount = new BigDecimal(amount);
+        return CurrencyConversionEntity.builder()
+                .transactionId(transactionId)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(sourceAmount)
+                .targetAmount(sourceAmount.multiply(new BigDecimal("0.92")).setScale(2))
+                .exchangeRate(new BigDecimal("0.92"))
+                .timestamp(timestamp)
+                .build();
+    }
+}
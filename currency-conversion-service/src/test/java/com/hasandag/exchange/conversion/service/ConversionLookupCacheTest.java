@@ -0,0 +1,119 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.CurrencyConversionEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionLookupCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 1);
+
+    @Test
+    void projectionIntoARangeInvalidatesOnlyOverlappingPages() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionLookupCache cache = new ConversionLookupCache(meterRegistry, true, 100, 10, 60_000);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CurrencyConversionEntity> page = new PageImpl<>(List.of(), pageable, 0);
+
+        cache.putPage(DAY, DAY, pageable, page, cache.currentWatermark());
+        cache.putPage(DAY.plusDays(1), DAY.plusDays(1), pageable, page, cache.currentWatermark());
+        assertThat(cache.getPage(DAY, DAY, pageable)).isSameAs(page);
+
+        cache.onProjected(List.of(conversion(1L, "tx-1", DAY.plusDays(1).atTime(9, 30))));
+
+        assertThat(cache.getPage(DAY, DAY, pageable)).isSameAs(page);
+        assertThat(cache.getPage(DAY.plusDays(1), DAY.plusDays(1), pageable)).isNull();
+        assertThat(meterRegistry.get("conversion.query.cache.hit.ratio").tag("cache", "page").gauge().value())
+                .isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    void projectedConversionsServeTransactionLookupsAsDetachedCopies() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionLookupCache cache = new ConversionLookupCache(meterRegistry, true, 1, 10, 60_000);
+        CurrencyConversionEntity stored = conversion(1L, "tx-1", DAY.atTime(9, 30, 0, 123_457_000));
+        stored.setSourceAmount(null);
+
+        cache.onProjected(List.of(stored, conversion(null, "tx-duplicate", DAY.atTime(9, 31))));
+        stored.setTargetAmount(BigDecimal.ONE);
+
+        CurrencyConversionEntity cached = cache.getByTransactionId("tx-1");
+        assertThat(cached).isNotNull().isNotSameAs(stored);
+        assertThat(cached.getSourceAmount()).isNull();
+        assertThat(cached.getTargetAmount()).hasToString("85.0000");
+        assertThat(cached.getTimestamp()).isEqualTo(DAY.atTime(9, 30, 0, 123_457_000));
+        assertThat(cache.getByTransactionId("tx-duplicate")).isNull();
+
+        cache.onProjected(List.of(conversion(2L, "tx-2", DAY.atTime(10, 0))));
+        assertThat(cache.getByTransactionId("tx-1")).isNull();
+        assertThat(meterRegistry.get("conversion.query.cache.size").tag("cache", "transaction").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void queriedEntitiesAreCachedAsDetachedCopies() {
+        ConversionLookupCache cache = new ConversionLookupCache(new SimpleMeterRegistry(), true, 10, 10, 60_000);
+        CurrencyConversionEntity managed = conversion(1L, "tx-1", DAY.atTime(9, 30));
+
+        cache.putTransaction(managed);
+        managed.setTargetAmount(BigDecimal.ONE);
+
+        assertThat(cache.getByTransactionId("tx-1")).isNotSameAs(managed)
+                .extracting(CurrencyConversionEntity::getTargetAmount).hasToString("85.0000");
+    }
+
+    @Test
+    void pagesExpireAfterMaxAge() throws InterruptedException {
+        ConversionLookupCache cache = new ConversionLookupCache(new SimpleMeterRegistry(), true, 10, 10, 50);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CurrencyConversionEntity> page = new PageImpl<>(List.of(), pageable, 0);
+
+        cache.putPage(DAY, DAY, pageable, page, cache.currentWatermark());
+        assertThat(cache.getPage(DAY, DAY, pageable)).isSameAs(page);
+
+        Thread.sleep(80);
+        assertThat(cache.getPage(DAY, DAY, pageable)).isNull();
+    }
+
+    @Test
+    void prunedDayWatermarksStillRejectPagesReadBeforeThem() throws InterruptedException {
+        ConversionLookupCache cache = new ConversionLookupCache(new SimpleMeterRegistry(), true, 10, 10, 50);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CurrencyConversionEntity> page = new PageImpl<>(List.of(), pageable, 0);
+        long watermarkBeforeQuery = cache.currentWatermark();
+
+        cache.onProjected(List.of(conversion(1L, "tx-1", DAY.atTime(9, 30))));
+        Thread.sleep(80);
+        cache.onProjected(List.of(conversion(2L, "tx-2", DAY.plusDays(5).atTime(9, 30))));
+
+        cache.putPage(DAY, DAY, pageable, page, watermarkBeforeQuery);
+        assertThat(cache.getPage(DAY, DAY, pageable)).isNull();
+
+        cache.putPage(DAY, DAY, pageable, page, cache.currentWatermark());
+        assertThat(cache.getPage(DAY, DAY, pageable)).isSameAs(page);
+    }
+
+    private static CurrencyConversionEntity conversion(Long id, String transactionId, LocalDateTime timestamp) {
+        return CurrencyConversionEntity.builder()
+                .id(id)
+                .transactionId(transactionId)
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .sourceAmount(new BigDecimal("100.0000"))
+                .targetAmount(new BigDecimal("85.0000"))
+                .exchangeRate(new BigDecimal("0.850000"))
+                .timestamp(timestamp)
+                .build();
+    }
+}
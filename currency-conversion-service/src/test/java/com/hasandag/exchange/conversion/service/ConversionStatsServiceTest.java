@@ -0,0 +1,80 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.conversion.model.CurrencyPairVolume;
+import com.hasandag.exchange.conversion.model.CurrencyPairVolumeStats;
+import com.hasandag.exchange.conversion.repository.query.CurrencyPairVolumeRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ConversionStatsServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 10, 1);
+
+    private final CurrencyPairVolumeRollupRepository rollupRepository = mock(CurrencyPairVolumeRollupRepository.class);
+    private final ConversionStatsService statsService = new ConversionStatsService(rollupRepository, 31);
+
+    @Test
+    void normalizesPairAndTotalsBuckets() {
+        when(rollupRepository.find("DAY", FROM.atStartOfDay(), FROM.plusDays(2).atStartOfDay(), "USD", "EUR"))
+                .thenReturn(List.of(bucket(2, "150.0000"), bucket(1, "10.5000")));
+
+        CurrencyPairVolumeStats stats = statsService.getVolumeStats("usd/eur", " day ", FROM, FROM.plusDays(1));
+
+        assertThat(stats.getPair()).isEqualTo("USD-EUR");
+        assertThat(stats.getGranularity()).isEqualTo("DAY");
+        assertThat(stats.getTotalConversions()).isEqualTo(3L);
+        assertThat(stats.getTotalSourceVolume()).isEqualByComparingTo("160.5");
+    }
+
+    @Test
+    void rejectsMalformedPair() {
+        assertThatThrownBy(() -> statsService.getVolumeStats("USDEURO", "hour", FROM, FROM))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid currency pair");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void rejectsUnsupportedGranularity() {
+        assertThatThrownBy(() -> statsService.getVolumeStats("USD-EUR", "week", FROM, FROM))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported granularity");
+        assertThatThrownBy(() -> statsService.getVolumeStats("USD-EUR", null, FROM, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void rejectsRangesBeyondTheCapOrReversed() {
+        assertThat(statsService.getVolumeStats(null, "day", FROM, FROM.plusDays(30)).getBuckets()).isEmpty();
+        assertThatThrownBy(() -> statsService.getVolumeStats(null, "day", FROM, FROM.plusDays(31)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maximum of 31 days");
+        assertThatThrownBy(() -> statsService.getVolumeStats(null, "day", FROM.plusDays(1), FROM))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is after");
+        assertThatThrownBy(() -> statsService.getVolumeStats(null, "day", null, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CurrencyPairVolume bucket(long count, String sourceVolume) {
+        return CurrencyPairVolume.builder()
+                .granularity("DAY")
+                .bucketStart(FROM.atStartOfDay())
+                .sourceCurrency("USD")
+                .targetCurrency("EUR")
+                .conversionCount(count)
+                .sourceVolume(new BigDecimal(sourceVolume))
+                .targetVolume(new BigDecimal(sourceVolume))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.hasandag.exchange.common.constants.KafkaConstants;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterReplayServiceTest {
+
+    private static final String DLT = KafkaConstants.CONVERSION_EVENT_DLT_TOPIC;
+    private static final TopicPartition PARTITION_0 = new TopicPartition(DLT, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(DLT, 1);
+
+    private final MockConsumer<String, Object> consumer = spy(new MockConsumer<>(OffsetResetStrategy.EARLIEST));
+    @SuppressWarnings("unchecked")
+    private final ConsumerFactory<String, Object> eventConsumerFactory = mock(ConsumerFactory.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final DeadLetterReplayService replayService = new DeadLetterReplayService(
+            eventConsumerFactory, mock(ConsumerFactory.class), kafkaTemplate, 100, 50);
+
+    @BeforeEach
+    void setUp() {
+        doNothing().when(consumer).close();
+        when(eventConsumerFactory.createConsumer(eq(KafkaConstants.DLT_REPLAY_GROUP), any(), eq("-events"), any()))
+                .thenReturn(consumer);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        Node node = new Node(0, "localhost", 9092);
+        consumer.updatePartitions(DLT, List.of(
+                new PartitionInfo(DLT, 0, node, new Node[0], new Node[0]),
+                new PartitionInfo(DLT, 1, node, new Node[0], new Node[0])));
+        consumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+    }
+
+    @Test
+    void republishesParkedRecordsAndCommitsPastThem() {
+        consumer.updateEndOffsets(Map.of(PARTITION_0, 2L, PARTITION_1, 1L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 0, "TX-1", "event-1"));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 1, "TX-2", "event-2"));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 1, 0, "TX-3", "event-3"));
+        });
+
+        Map<String, Object> response = replayService.replay("events", null);
+
+        assertThat(response).containsEntry("replayed", 3).containsEntry("remaining", 0L);
+        assertThat(response.get("blockedPartitions")).asInstanceOf(InstanceOfAssertFactories.LIST).isEmpty();
+        verify(kafkaTemplate).send(KafkaConstants.CONVERSION_EVENT_TOPIC, "TX-1", "event-1");
+        verify(kafkaTemplate).send(KafkaConstants.CONVERSION_EVENT_TOPIC, "TX-3", "event-3");
+        assertThat(consumer.committed(Set.of(PARTITION_0, PARTITION_1)))
+                .containsEntry(PARTITION_0, new OffsetAndMetadata(2))
+                .containsEntry(PARTITION_1, new OffsetAndMetadata(1));
+    }
+
+    @Test
+    void leavesUndeserializableRecordsUncommitted() {
+        consumer.updateEndOffsets(Map.of(PARTITION_0, 3L, PARTITION_1, 1L));
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 0, "TX-1", "event-1"));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 1, "TX-2", null));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 0, 2, "TX-3", "event-3"));
+            consumer.addRecord(new ConsumerRecord<>(DLT, 1, 0, "TX-4", "event-4"));
+        });
+
+        Map<String, Object> response = replayService.replay("events", null);
+
+        assertThat(response).containsEntry("replayed", 2).containsEntry("remaining", 2L);
+        assertThat(response.get("blockedPartitions")).asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly(PARTITION_0 + "@1");
+        verify(kafkaTemplate, never()).send(KafkaConstants.CONVERSION_EVENT_TOPIC, "TX-3", "event-3");
+        assertThat(consumer.committed(Set.of(PARTITION_0)))
+                .containsEntry(PARTITION_0, new OffsetAndMetadata(1));
+    }
+
+    @Test
+    void rejectsUnknownStreams() {
+        Map<String, Object> response = replayService.replay("unknown", null);
+
+        assertThat(response).containsEntry("httpStatus", 400);
+    }
+}
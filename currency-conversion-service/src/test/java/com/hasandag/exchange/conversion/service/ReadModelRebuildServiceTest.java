@@ -0,0 +1,177 @@
+package com.hasandag.exchange.conversion.service;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class ReadModelRebuildServiceTest {
+
+    private final MongoOperations mongoOperations = mock(MongoOperations.class);
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Statement statement = mock(Statement.class);
+    private final PreparedStatement catchUp = mock(PreparedStatement.class);
+    private final CopyManager copyManager = mock(CopyManager.class);
+    private final CopyIn copyIn = mock(CopyIn.class);
+    private final ConversionLookupCache lookupCache = mock(ConversionLookupCache.class);
+
+    private ReadModelRebuildService rebuildService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> ids = mock(FindIterable.class, withSettings().defaultAnswer(Answers.RETURNS_SELF));
+        FindIterable<Document> page = mock(FindIterable.class, withSettings().defaultAnswer(Answers.RETURNS_SELF));
+        when(mongoOperations.getCollectionName(any())).thenReturn("currency_conversions");
+        when(mongoOperations.getCollection("currency_conversions")).thenReturn(collection);
+        when(collection.estimatedDocumentCount()).thenReturn(1L);
+        when(collection.find()).thenReturn(ids);
+        when(ids.first()).thenReturn(new Document("_id", "legacy-id"));
+        when(collection.find(any(Bson.class))).thenReturn(page);
+        when(page.into(any())).thenAnswer(invocation -> {
+            List<Document> target = invocation.getArgument(0);
+            target.add(new Document("_id", "legacy-id")
+                    .append("transaction_id", "TX-1")
+                    .append("source_currency", "USD")
+                    .append("target_currency", "EUR")
+                    .append("source_amount", new Decimal128(new BigDecimal("100.00")))
+                    .append("target_amount", new Decimal128(new BigDecimal("92.00")))
+                    .append("exchange_rate", new Decimal128(new BigDecimal("0.92")))
+                    .append("timestamp", new Date()));
+            return target;
+        });
+
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(startsWith("WITH caught_up AS (INSERT INTO currency_conversions_rebuild"))).thenReturn(catchUp);
+        ResultSet caughtUp = mock(ResultSet.class);
+        when(caughtUp.next()).thenReturn(true);
+        when(caughtUp.getLong(1)).thenReturn(3L);
+        when(catchUp.executeQuery()).thenReturn(caughtUp);
+        when(statement.executeUpdate(startsWith("INSERT INTO currency_pair_volume_rollups_rebuild"))).thenReturn(12);
+
+        ResultSet empty = mock(ResultSet.class);
+        ResultSet unpartitioned = mock(ResultSet.class);
+        when(unpartitioned.next()).thenReturn(true);
+        ResultSet watermark = mock(ResultSet.class);
+        when(watermark.next()).thenReturn(true);
+        when(watermark.getLong(1)).thenReturn(41L);
+        when(statement.executeQuery(anyString())).thenReturn(empty);
+        when(statement.executeQuery(startsWith("SELECT pg_get_partkeydef"))).thenReturn(unpartitioned);
+        when(statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM currency_conversions")).thenReturn(watermark);
+
+        rebuildService = new ReadModelRebuildService(mongoOperations, dataSource, lookupCache, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuildService.destroy();
+    }
+
+    @Test
+    void copiesIntoShadowTableThenCatchesUpByIdAndSwaps() throws Exception {
+        rebuildService.startRebuild();
+        Map<String, Object> status = awaitFinished();
+
+        assertThat(status).containsEntry("phase", "COMPLETED")
+                .containsEntry("rowsCopied", 1L)
+                .containsEntry("rowsCaughtUp", 3L)
+                .containsEntry("rollupsRecomputed", 12L);
+
+        InOrder order = inOrder(statement, copyManager, copyIn, catchUp, connection);
+        order.verify(statement).execute("CREATE TABLE currency_conversions_rebuild (LIKE currency_conversions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        order.verify(statement).execute("LOCK TABLE currency_conversions IN SHARE MODE");
+        order.verify(statement).executeQuery("SELECT COALESCE(MAX(id), 0) FROM currency_conversions");
+        order.verify(connection).rollback();
+        order.verify(copyManager).copyIn(startsWith("COPY currency_conversions_rebuild"));
+        order.verify(copyIn).writeToCopy(argThat(bytes -> new String(bytes, StandardCharsets.UTF_8).startsWith("TX-1,USD,EUR,100.00,92.00,0.92,")),
+                eq(0), anyInt());
+        order.verify(copyIn).endCopy();
+        order.verify(statement).executeUpdate("INSERT INTO conversion_transaction_ids (transaction_id) "
+                + "SELECT transaction_id FROM currency_conversions_rebuild ON CONFLICT DO NOTHING");
+        order.verify(statement).execute("CREATE TABLE currency_pair_volume_rollups_rebuild "
+                + "(LIKE currency_pair_volume_rollups INCLUDING DEFAULTS)");
+        order.verify(statement).executeUpdate(startsWith("INSERT INTO currency_pair_volume_rollups_rebuild AS r "));
+        order.verify(statement).execute("LOCK TABLE currency_conversions IN ACCESS EXCLUSIVE MODE");
+        order.verify(catchUp).setLong(1, 41L);
+        order.verify(catchUp).executeQuery();
+        order.verify(statement).execute("DROP TABLE currency_conversions");
+        order.verify(statement).execute("ALTER TABLE currency_conversions_rebuild RENAME TO currency_conversions");
+        order.verify(statement).execute("DROP TABLE currency_pair_volume_rollups");
+        order.verify(statement).execute("ALTER TABLE currency_pair_volume_rollups_rebuild RENAME TO currency_pair_volume_rollups");
+        order.verify(connection).commit();
+        verify(connection).prepareStatement(argThat((String sql) -> sql.contains(
+                "rolled_up AS (INSERT INTO currency_pair_volume_rollups_rebuild AS r ")
+                && sql.contains("FROM caught_up c")));
+        verify(statement, never()).executeUpdate(startsWith("DELETE FROM currency_pair_volume_rollups"));
+    }
+
+    @Test
+    void failedRebuildDropsTheShadowTable() throws Exception {
+        when(copyManager.copyIn(anyString())).thenThrow(new SQLException("disk full"));
+
+        rebuildService.startRebuild();
+        Map<String, Object> status = awaitFinished();
+
+        assertThat(status).containsEntry("phase", "FAILED");
+        InOrder order = inOrder(statement);
+        order.verify(statement).execute(startsWith("CREATE TABLE currency_conversions_rebuild"));
+        order.verify(statement).execute("DROP TABLE IF EXISTS currency_conversions_rebuild");
+        order.verify(statement).execute("DROP TABLE IF EXISTS currency_pair_volume_rollups_rebuild");
+    }
+
+    private Map<String, Object> awaitFinished() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> status = rebuildService.getStatus();
+            if (status.get("finishedAt") != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Rebuild did not finish: " + rebuildService.getStatus());
+    }
+}